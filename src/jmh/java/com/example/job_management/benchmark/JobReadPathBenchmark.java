@@ -0,0 +1,82 @@
+package com.example.job_management.benchmark;
+
+import com.example.job_management.Common.JobState;
+import com.example.job_management.JobManagementApplication;
+import com.example.job_management.dto.ResponseDto;
+import com.example.job_management.model.Job;
+import com.example.job_management.repository.JobRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the entity-based read paths with the projection-based ones used by
+ * {@code GET /api/jobs} and {@code GET /api/jobs/status/{id}}, including JSON
+ * serialization. Run with {@code -prof gc} to see bytes allocated per operation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JobReadPathBenchmark {
+    private static final ResponseDto QUEUED_STATUS = new ResponseDto(JobState.QUEUED.toString(), 200);
+
+    @Param({ "1000" })
+    private int jobCount;
+
+    private ConfigurableApplicationContext context;
+    private JobRepository jobRepository;
+    private ObjectMapper objectMapper;
+    private Long statusId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(JobManagementApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties("logging.level.root=WARN", "spring.jpa.open-in-view=false")
+                .run();
+        jobRepository = context.getBean(JobRepository.class);
+        objectMapper = context.getBean(ObjectMapper.class);
+        List<Job> jobs = new ArrayList<>(jobCount);
+        for (int i = 0; i < jobCount; i++) {
+            jobs.add(new Job("benchmark-" + (i % 8), JobState.QUEUED, i % 10, LocalDateTime.now().plusDays(1)));
+        }
+        statusId = jobRepository.saveAll(jobs).get(jobCount / 2).getId();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public byte[] listEntities() throws Exception {
+        return objectMapper.writeValueAsBytes(jobRepository.findAll());
+    }
+
+    @Benchmark
+    public byte[] listSummaries() throws Exception {
+        return objectMapper.writeValueAsBytes(jobRepository.findAllSummaries());
+    }
+
+    @Benchmark
+    public byte[] statusFromEntity() throws Exception {
+        Job job = jobRepository.findById(statusId).orElseThrow();
+        return objectMapper.writeValueAsBytes(new ResponseDto(job.getState().toString(), 200));
+    }
+
+    @Benchmark
+    public byte[] statusFromProjection() throws Exception {
+        jobRepository.findStateById(statusId).orElseThrow();
+        return objectMapper.writeValueAsBytes(QUEUED_STATUS);
+    }
+}
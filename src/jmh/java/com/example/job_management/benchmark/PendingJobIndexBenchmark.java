@@ -0,0 +1,121 @@
+package com.example.job_management.benchmark;
+
+import com.example.job_management.Common.JobState;
+import com.example.job_management.model.Job;
+import com.example.job_management.service.PendingJobIndex;
+import com.example.job_management.service.PendingJobIndexSnapshot;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Memory per pending job held by the dispatcher: {@link PendingJobIndex} vs. keeping
+ * the {@code Job} entities. Both structures are presized, so with {@code -prof gc} the
+ * {@code gc.alloc.rate.norm} of {@code indexJobs} and {@code holdEntities} divided by
+ * {@code jobCount} is the heap each queued job occupies. {@code pollAndReAdd} is the
+ * per-claim cost on a full index; {@code writeSnapshot} and {@code restoreSnapshot} are
+ * the cost of saving the index and of rebuilding it from disk after a restart.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PendingJobIndexBenchmark {
+    private static final String[] TYPES = { "email", "sms", "report", "export", "import", "cleanup", "billing",
+            "webhook" };
+    private static final Set<String> EMAIL = Set.of("email");
+    private static final Set<String> ALL_TYPES = Set.of(TYPES);
+    private static final Set<Integer> PARTITIONS = Set.of(0);
+
+    @Param({ "100000" })
+    private int jobCount;
+
+    private long[] ids;
+    private int[] priorities;
+    private LocalDateTime[] scheduledTimes;
+    private PendingJobIndex fullIndex;
+    private PendingJobIndex mixedIndex;
+    private Path snapshotDirectory;
+    private PendingJobIndexSnapshot snapshot;
+    private final long[] polled = new long[1];
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        Random random = new Random(42);
+        LocalDateTime now = LocalDateTime.now();
+        ids = new long[jobCount];
+        priorities = new int[jobCount];
+        scheduledTimes = new LocalDateTime[jobCount];
+        for (int i = 0; i < jobCount; i++) {
+            ids[i] = 1_000_000L + i;
+            priorities[i] = random.nextInt(10);
+            scheduledTimes[i] = now.plusSeconds(random.nextInt(86_400));
+        }
+        fullIndex = new PendingJobIndex(jobCount);
+        for (int i = 0; i < jobCount; i++) {
+            fullIndex.add(ids[i], "email", priorities[i], PendingJobIndex.UNSCHEDULED);
+        }
+        mixedIndex = indexJobs();
+        snapshotDirectory = Files.createTempDirectory("index-snapshot");
+        snapshot = new PendingJobIndexSnapshot(snapshotDirectory.resolve("index.snapshot").toString(), 3600000);
+        writeSnapshot();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(snapshotDirectory.resolve("index.snapshot"));
+        Files.deleteIfExists(snapshotDirectory);
+    }
+
+    @Benchmark
+    public PendingJobIndex indexJobs() {
+        PendingJobIndex index = new PendingJobIndex(jobCount);
+        for (int i = 0; i < jobCount; i++) {
+            index.add(ids[i], TYPES[i & 7], priorities[i],
+                    scheduledTimes[i].toInstant(ZoneOffset.UTC).toEpochMilli());
+        }
+        return index;
+    }
+
+    @Benchmark
+    public List<Job> holdEntities() {
+        List<Job> jobs = new ArrayList<>(jobCount);
+        for (int i = 0; i < jobCount; i++) {
+            // Copies of the date, as each entity loaded by Hibernate has its own
+            Job job = new Job(TYPES[i & 7], JobState.QUEUED, priorities[i], scheduledTimes[i].plusNanos(1));
+            job.setId(ids[i]);
+            jobs.add(job);
+        }
+        return jobs;
+    }
+
+    @Benchmark
+    public long pollAndReAdd() {
+        fullIndex.poll(EMAIL, 0, polled);
+        fullIndex.add(polled[0], "email", 5, PendingJobIndex.UNSCHEDULED);
+        return polled[0];
+    }
+
+    @Benchmark
+    public void writeSnapshot() throws IOException {
+        snapshot.write(mixedIndex, LocalDateTime.now(), LocalDateTime.now(), 1, PARTITIONS, ALL_TYPES);
+    }
+
+    @Benchmark
+    public PendingJobIndex restoreSnapshot() {
+        PendingJobIndex index = new PendingJobIndex(jobCount);
+        snapshot.restore(index, 1, PARTITIONS, ALL_TYPES);
+        return index;
+    }
+}
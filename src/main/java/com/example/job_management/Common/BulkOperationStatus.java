@@ -0,0 +1,7 @@
+package com.example.job_management.Common;
+
+public enum BulkOperationStatus {
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
@@ -0,0 +1,10 @@
+package com.example.job_management.Common;
+
+public enum MisfirePolicy {
+    // Drop the missed executions and wait for the next regular one
+    SKIP,
+    // Run once for all the missed executions, then continue on schedule
+    FIRE_ONCE,
+    // Run every missed execution
+    CATCH_UP
+}
@@ -0,0 +1,37 @@
+package com.example.job_management.config;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+
+import java.lang.reflect.Method;
+
+/**
+ * Runs every repository method in an observation named {@code job.repository},
+ * which becomes a span when tracing is on and a timer when metrics are.
+ */
+class RepositoryObservationInterceptor implements MethodInterceptor {
+    static final String OBSERVATION = "job.repository";
+
+    private final String repositoryName;
+    private final ObservationRegistry observationRegistry;
+
+    RepositoryObservationInterceptor(String repositoryName, ObservationRegistry observationRegistry) {
+        this.repositoryName = repositoryName;
+        this.observationRegistry = observationRegistry;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        Method method = invocation.getMethod();
+        if (method.getDeclaringClass() == Object.class) {
+            return invocation.proceed();
+        }
+        return Observation.createNotStarted(OBSERVATION, observationRegistry)
+                .contextualName(repositoryName + "." + method.getName())
+                .lowCardinalityKeyValue("repository", repositoryName)
+                .lowCardinalityKeyValue("method", method.getName())
+                .observeChecked(invocation::proceed);
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.job_management.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+
+    // Heartbeats, dispatch polling and maintenance must not queue behind each other on a single thread
+    @Bean
+    public ThreadPoolTaskScheduler taskScheduler(@Value("${job.scheduler.pool-size:4}") int poolSize) {
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(poolSize);
+        scheduler.setThreadNamePrefix("job-scheduler-");
+        return scheduler;
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.job_management.config;
+
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.MethodIntrospector;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.scheduling.annotation.Scheduled;
+
+@Configuration
+public class StartupConfig {
+
+    // With spring.main.lazy-initialization (prod profile) a bean is only created when first used.
+    // Scheduled and lifecycle beans drive the dispatcher, heartbeats and leader election and are
+    // never looked up by anyone, so they (and what they depend on) must stay eager.
+    @Bean
+    static LazyInitializationExcludeFilter eagerJobInfrastructure() {
+        return (beanName, beanDefinition, beanType) -> SmartLifecycle.class.isAssignableFrom(beanType)
+                || hasScheduledMethods(beanType);
+    }
+
+    private static boolean hasScheduledMethods(Class<?> beanType) {
+        return !MethodIntrospector.selectMethods(beanType,
+                (MethodIntrospector.MetadataLookup<Boolean>) method ->
+                        AnnotatedElementUtils.hasAnnotation(method, Scheduled.class) ? Boolean.TRUE : null)
+                .isEmpty();
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.job_management.config;
+
+import com.example.job_management.repository.JobRepository;
+import io.micrometer.observation.ObservationRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+
+@Configuration
+public class TracingConfig {
+
+    // HTTP endpoints are observed by Spring MVC itself; this adds the JobRepository calls.
+    // The advice is added to the repository proxy when its factory bean initializes.
+    @Bean
+    static BeanPostProcessor jobRepositoryObservation(ObjectProvider<ObservationRegistry> observationRegistry) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean
+                        && JobRepository.class.equals(factoryBean.getObjectType())) {
+                    factoryBean.addRepositoryFactoryCustomizer(factory -> factory.addRepositoryProxyPostProcessor(
+                            (proxyFactory, repositoryInformation) -> proxyFactory.addAdvice(
+                                    new RepositoryObservationInterceptor(JobRepository.class.getSimpleName(),
+                                            observationRegistry.getIfAvailable(() -> ObservationRegistry.NOOP)))));
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.job_management.controller;
+
+import com.example.job_management.Common.BulkOperationStatus;
+import com.example.job_management.dto.BulkOperationDto;
+import com.example.job_management.dto.JobFilterDto;
+import com.example.job_management.dto.ResponseDto;
+import com.example.job_management.service.JobBulkService;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.ExampleObject;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.media.Schema;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.function.Supplier;
+
+@RestController
+@RequestMapping("/api/jobs/bulk")
+public class JobBulkController {
+    private static final ResponseEntity<ResponseDto> OPERATION_NOT_FOUND = ResponseEntity
+            .status(HttpStatus.NOT_FOUND)
+            .body(new ResponseDto("Bulk operation not found", HttpStatus.NOT_FOUND.value()));
+    private static final ResponseEntity<ResponseDto> INVALID_PRIORITY = ResponseEntity
+            .status(HttpStatus.BAD_REQUEST)
+            .body(new ResponseDto("Invalid job priority", HttpStatus.BAD_REQUEST.value()));
+
+    private final JobBulkService jobBulkService;
+
+    public JobBulkController(JobBulkService jobBulkService) {
+        this.jobBulkService = jobBulkService;
+    }
+
+    @Operation(summary = "Retry failed jobs by filter", description = "Puts every FAILED job matching the filter back to QUEUED")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Jobs retried", content = @Content(mediaType = "application/json", schema = @Schema(implementation = BulkOperationDto.class), examples = @ExampleObject(name = "Example Response", value = "{\"id\": \"4f0c2a9e-6b1d-4c8e-9a57-0d3e1f2b7c41\", \"type\": \"RETRY\", \"status\": \"COMPLETED\", \"matched\": 120, \"processed\": 120, \"affected\": 118, \"startedAt\": \"2025-01-27T10:30:00\", \"finishedAt\": \"2025-01-27T10:30:01\", \"error\": null}", summary = "An example completed operation"))),
+            @ApiResponse(responseCode = "202", description = "Too many matching jobs to wait for; the operation runs in the background and its progress is at the Location header", content = @Content(mediaType = "application/json", schema = @Schema(implementation = BulkOperationDto.class))),
+            @ApiResponse(responseCode = "400", description = "Error Message", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ResponseDto.class), examples = @ExampleObject(name = "Example Response", value = "{\"message\": \"Filter must have at least one criterion\", \"status\": 400}", summary = "An example error response")))
+    })
+    @PatchMapping("/retry")
+    public ResponseEntity<?> retryJobs(@RequestBody JobFilterDto filter) {
+        return run(filter, () -> jobBulkService.retryJobs(filter));
+    }
+
+    @Operation(summary = "Delete jobs by filter", description = "Deletes every job matching the filter, except running jobs")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Jobs deleted", content = @Content(mediaType = "application/json", schema = @Schema(implementation = BulkOperationDto.class))),
+            @ApiResponse(responseCode = "202", description = "Too many matching jobs to wait for; the operation runs in the background and its progress is at the Location header", content = @Content(mediaType = "application/json", schema = @Schema(implementation = BulkOperationDto.class))),
+            @ApiResponse(responseCode = "400", description = "Error Message", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ResponseDto.class), examples = @ExampleObject(name = "Example Response", value = "{\"message\": \"Filter must have at least one criterion\", \"status\": 400}", summary = "An example error response")))
+    })
+    @PostMapping("/delete")
+    public ResponseEntity<?> deleteJobs(@RequestBody JobFilterDto filter) {
+        return run(filter, () -> jobBulkService.deleteJobs(filter));
+    }
+
+    @Operation(summary = "Change the priority of jobs by filter", description = "Sets the priority of every job matching the filter")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Jobs reprioritized", content = @Content(mediaType = "application/json", schema = @Schema(implementation = BulkOperationDto.class))),
+            @ApiResponse(responseCode = "202", description = "Too many matching jobs to wait for; the operation runs in the background and its progress is at the Location header", content = @Content(mediaType = "application/json", schema = @Schema(implementation = BulkOperationDto.class))),
+            @ApiResponse(responseCode = "400", description = "Error Message", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ResponseDto.class), examples = @ExampleObject(name = "Example Response", value = "{\"message\": \"Invalid job priority\", \"status\": 400}", summary = "An example error response")))
+    })
+    @PatchMapping("/priority")
+    public ResponseEntity<?> reprioritizeJobs(@RequestParam int priority, @RequestBody JobFilterDto filter) {
+        if (priority < 0) {
+            return INVALID_PRIORITY;
+        }
+        return run(filter, () -> jobBulkService.reprioritizeJobs(filter, priority));
+    }
+
+    @Operation(summary = "Get the progress of a bulk operation", description = "Returns the counts and status of a bulk operation started on this instance")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Operation returned successfully", content = @Content(mediaType = "application/json", schema = @Schema(implementation = BulkOperationDto.class))),
+            @ApiResponse(responseCode = "404", description = "Bulk operation not found", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ResponseDto.class), examples = @ExampleObject(name = "Example Response", value = "{\"message\": \"Bulk operation not found\", \"status\": 404}", summary = "An example error response")))
+    })
+    @GetMapping("/operations/{id}")
+    public ResponseEntity<?> getOperation(@PathVariable String id) {
+        BulkOperationDto operation = jobBulkService.getOperation(id);
+        if (operation == null) {
+            return OPERATION_NOT_FOUND;
+        }
+        return ResponseEntity.ok(operation);
+    }
+
+    private ResponseEntity<?> run(JobFilterDto filter, Supplier<BulkOperationDto> operation) {
+        String error = jobBulkService.validateFilter(filter);
+        if (error != null) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(new ResponseDto(error, HttpStatus.BAD_REQUEST.value()));
+        }
+        BulkOperationDto started = operation.get();
+        if (started.getStatus() == BulkOperationStatus.RUNNING) {
+            return ResponseEntity.status(HttpStatus.ACCEPTED)
+                    .header(HttpHeaders.LOCATION, "/api/jobs/bulk/operations/" + started.getId())
+                    .body(started);
+        }
+        if (started.getStatus() == BulkOperationStatus.FAILED) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(started);
+        }
+        return ResponseEntity.ok(started);
+    }
+}
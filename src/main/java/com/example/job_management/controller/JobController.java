@@ -3,8 +3,13 @@ package com.example.job_management.controller;
 import com.example.job_management.Common.JobState;
 import com.example.job_management.model.Job;
 import com.example.job_management.service.JobService;
+import com.example.job_management.dto.BulkValidationResponseDto;
 import com.example.job_management.dto.JobDto;
+import com.example.job_management.dto.JobStatsDto;
+import com.example.job_management.dto.JobSummaryDto;
+import com.example.job_management.dto.JobValidationErrorDto;
 import com.example.job_management.dto.ResponseDto;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -15,11 +20,31 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/jobs")
 public class JobController {
+    // Responses with fixed content are built once; none of them is modified after construction
+    private static final ResponseEntity<ResponseDto> JOB_NOT_FOUND = ResponseEntity.status(HttpStatus.NOT_FOUND)
+            .body(new ResponseDto("Job not found", HttpStatus.NOT_FOUND.value()));
+    private static final ResponseEntity<ResponseDto> CANNOT_DELETE_RUNNING_JOB = ResponseEntity
+            .status(HttpStatus.CONFLICT)
+            .body(new ResponseDto("Cannot delete a running job", HttpStatus.CONFLICT.value()));
+    private static final ResponseEntity<ResponseDto> JOB_DELETED = ResponseEntity
+            .ok(new ResponseDto("Job deleted successfully", HttpStatus.OK.value()));
+    private static final ResponseEntity<ResponseDto> JOB_NOT_FAILED = ResponseEntity.status(HttpStatus.CONFLICT)
+            .body(new ResponseDto("Job is not in failed state", HttpStatus.CONFLICT.value()));
+    private static final Map<JobState, ResponseEntity<ResponseDto>> JOB_STATUS = new EnumMap<>(JobState.class);
+
+    static {
+        for (JobState state : JobState.values()) {
+            JOB_STATUS.put(state, ResponseEntity.ok(new ResponseDto(state.toString(), HttpStatus.OK.value())));
+        }
+    }
+
     private final JobService jobService;
 
     public JobController(JobService jobService) {
@@ -29,7 +54,8 @@ public class JobController {
     @Operation(summary = "Create a new job", description = "Adds a new job to the system")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "201", description = "Job created successfully", content = @Content(mediaType = "application/json", schema = @Schema(implementation = Job.class), examples = @ExampleObject(name = "Example Response", value = "{\"id\": 1, \"name\": \"Example Job\", \"state\": \"QUEUED\"}", summary = "An example job response"))),
-            @ApiResponse(responseCode = "400", description = "Error Message", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ResponseDto.class), examples = @ExampleObject(name = "Example Response", value = "{\"message\": \"Job email :  Scheduled time cannot be in the past\", \"status\": 400}", summary = "An example error response")))
+            @ApiResponse(responseCode = "400", description = "Error Message", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ResponseDto.class), examples = @ExampleObject(name = "Example Response", value = "{\"message\": \"Job email :  Scheduled time cannot be in the past\", \"status\": 400}", summary = "An example error response"))),
+            @ApiResponse(responseCode = "429", description = "Too many queued jobs, retry after the number of seconds in the Retry-After header", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ResponseDto.class), examples = @ExampleObject(name = "Example Response", value = "{\"message\": \"Too many queued jobs (limit 100000)\", \"status\": 429}", summary = "An example rejection response")))
     })
     @PostMapping
     public ResponseEntity<?> createJob(@RequestBody JobDto job) {
@@ -39,6 +65,10 @@ public class JobController {
                     .body(new ResponseDto(error, HttpStatus.BAD_REQUEST.value()));
 
         }
+        String rejection = jobService.admitJob(job);
+        if (rejection != null) {
+            return tooManyRequests(rejection);
+        }
         return ResponseEntity.status(HttpStatus.CREATED).body(jobService.createJob(job));
 
     }
@@ -46,27 +76,48 @@ public class JobController {
     @Operation(summary = "Create a bulk of new jobs", description = "Adds a list off new job to the system")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "201", description = "Jobs created successfully", content = @Content(mediaType = "application/json", schema = @Schema(implementation = Job.class), examples = @ExampleObject(name = "Example Response", value = "[{\"id\": 1, \"name\": \"Example Job\", \"state\": \"QUEUED\"}]", summary = "An example job list response"))),
-            @ApiResponse(responseCode = "400", description = "Error Message", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ResponseDto.class), examples = @ExampleObject(name = "Example Response", value = "{\"message\": \"Scheduled time cannot be in the past\", \"status\": 400}", summary = "An example error response")))
+            @ApiResponse(responseCode = "400", description = "Every invalid job with its index in the request", content = @Content(mediaType = "application/json", schema = @Schema(implementation = BulkValidationResponseDto.class), examples = @ExampleObject(name = "Example Response", value = "{\"message\": \"2 of 3 jobs are invalid\", \"status\": 400, \"errors\": [{\"index\": 0, \"message\": \"Invalid job type\"}, {\"index\": 2, \"message\": \"Scheduled time cannot be in the past\"}]}", summary = "An example error response"))),
+            @ApiResponse(responseCode = "429", description = "Too many queued jobs, globally or of one of the types; nothing is created", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ResponseDto.class), examples = @ExampleObject(name = "Example Response", value = "{\"message\": \"Too many queued jobs of type email (limit 1000)\", \"status\": 429}", summary = "An example rejection response")))
     })
     @PostMapping("/bulk")
     public ResponseEntity<?> createJobs(@RequestBody List<JobDto> jobs) {
-        String error = jobService.validateJobs(jobs);
-        if (error != null) {
+        List<JobValidationErrorDto> errors = jobService.validateJobs(jobs);
+        if (!errors.isEmpty()) {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST)
-                    .body(new ResponseDto(error, HttpStatus.BAD_REQUEST.value()));
+                    .body(new BulkValidationResponseDto(errors.size() + " of " + jobs.size() + " jobs are invalid",
+                            HttpStatus.BAD_REQUEST.value(), errors));
+        }
+        String rejection = jobService.admitJobs(jobs);
+        if (rejection != null) {
+            return tooManyRequests(rejection);
         }
         return ResponseEntity.status(HttpStatus.CREATED).body(jobService.createJobs(jobs));
     }
 
+    private ResponseEntity<ResponseDto> tooManyRequests(String message) {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(jobService.getRetryAfterSeconds()))
+                .body(new ResponseDto(message, HttpStatus.TOO_MANY_REQUESTS.value()));
+    }
+
     @Operation(summary = "Get all jobs", description = "Returns a list of all jobs in the system")
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "200", description = "List of jobs returned successfully", content = @Content(mediaType = "application/json", schema = @Schema(implementation = Job.class), examples = @ExampleObject(name = "Example Response", value = "[{\"id\": 1, \"name\": \"Example Job\", \"state\": \"QUEUED\"}]", summary = "An example job list response")))
+            @ApiResponse(responseCode = "200", description = "List of jobs returned successfully", content = @Content(mediaType = "application/json", schema = @Schema(implementation = JobSummaryDto.class), examples = @ExampleObject(name = "Example Response", value = "[{\"id\": 1, \"name\": \"Example Job\", \"state\": \"QUEUED\"}]", summary = "An example job list response")))
     })
     @GetMapping
-    public ResponseEntity<List<Job>> getAllJobs() {
+    public ResponseEntity<List<JobSummaryDto>> getAllJobs() {
         return ResponseEntity.ok(jobService.getAllJobs());
     }
 
+    @Operation(summary = "Get job statistics", description = "Returns the number of jobs per state, type and priority")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Statistics returned successfully", content = @Content(mediaType = "application/json", schema = @Schema(implementation = JobStatsDto.class), examples = @ExampleObject(name = "Example Response", value = "{\"total\": 3, \"byState\": {\"QUEUED\": 2, \"RUNNING\": 0, \"SUCCESS\": 1, \"FAILED\": 0}, \"byType\": {\"email\": {\"QUEUED\": 2, \"RUNNING\": 0, \"SUCCESS\": 1, \"FAILED\": 0}}, \"byPriority\": {\"1\": 3}, \"reconciledAt\": \"2025-01-27T10:30:00\"}", summary = "An example statistics response")))
+    })
+    @GetMapping("/stats")
+    public ResponseEntity<JobStatsDto> getStats() {
+        return ResponseEntity.ok(jobService.getStats());
+    }
+
     @Operation(summary = "Get a job by ID", description = "Returns a job by its ID")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Job returned successfully", content = @Content(mediaType = "application/json", schema = @Schema(implementation = Job.class), examples = @ExampleObject(name = "Example Response", value = "{\"id\": 1, \"name\": \"Example Job\", \"state\": \"QUEUED\"}", summary = "An example job response"))),
@@ -76,8 +127,7 @@ public class JobController {
     public ResponseEntity<?> getJobById(@PathVariable Long id) {
         Job job = jobService.getJobById(id);
         if (job == null) {
-            return ResponseEntity.status(HttpStatus.NOT_FOUND)
-                    .body(new ResponseDto("Job not found", HttpStatus.NOT_FOUND.value()));
+            return JOB_NOT_FOUND;
         }
         return ResponseEntity.ok(job);
     }
@@ -89,12 +139,11 @@ public class JobController {
     })
     @GetMapping("/status/{id}")
     public ResponseEntity<?> getJobStatus(@PathVariable Long id) {
-        Job job = jobService.getJobById(id);
-        if (job == null) {
-            return ResponseEntity.status(HttpStatus.NOT_FOUND)
-                    .body(new ResponseDto("Job not found", HttpStatus.NOT_FOUND.value()));
+        JobState state = jobService.getJobState(id);
+        if (state == null) {
+            return JOB_NOT_FOUND;
         }
-        return ResponseEntity.ok(new ResponseDto(job.getState().toString(), HttpStatus.OK.value()));
+        return JOB_STATUS.get(state);
     }
 
     @Operation(summary = "Delete a job", description = "Deletes a job by its ID")
@@ -108,18 +157,16 @@ public class JobController {
 
         Job job = jobService.getJobById(id);
         if (job == null) {
-            return ResponseEntity.status(HttpStatus.NOT_FOUND)
-                    .body(new ResponseDto("Job not found", HttpStatus.NOT_FOUND.value()));
+            return JOB_NOT_FOUND;
         }
 
         if (job.getState() == JobState.RUNNING) {
-            return ResponseEntity.status(HttpStatus.CONFLICT)
-                    .body(new ResponseDto("Cannot delete a running job", HttpStatus.CONFLICT.value()));
+            return CANNOT_DELETE_RUNNING_JOB;
         }
 
-        jobService.deleteJob(id);
+        jobService.deleteJob(job);
 
-        return ResponseEntity.ok(new ResponseDto("Job deleted successfully", HttpStatus.OK.value()));
+        return JOB_DELETED;
     }
 
     @Operation(summary = "Retry a failed job", description = "Retries a job that is in a failed state")
@@ -132,13 +179,11 @@ public class JobController {
     public ResponseEntity<?> retryJob(@PathVariable Long id) {
         Job job = jobService.getJobById(id);
         if (job == null) {
-            return ResponseEntity.status(HttpStatus.NOT_FOUND)
-                    .body(new ResponseDto("Job not found", HttpStatus.NOT_FOUND.value()));
+            return JOB_NOT_FOUND;
         }
 
         if (job.getState() != JobState.FAILED) {
-            return ResponseEntity.status(HttpStatus.CONFLICT)
-                    .body(new ResponseDto("Job is not in failed state", HttpStatus.CONFLICT.value()));
+            return JOB_NOT_FAILED;
         }
 
         // job = jobService.createJob(new JobDto(job));
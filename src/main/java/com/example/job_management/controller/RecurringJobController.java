@@ -0,0 +1,77 @@
+package com.example.job_management.controller;
+
+import com.example.job_management.dto.RecurringJobDto;
+import com.example.job_management.dto.ResponseDto;
+import com.example.job_management.model.RecurringJob;
+import com.example.job_management.service.RecurringJobService;
+import org.springframework.http.HttpStatus;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.ExampleObject;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.media.Schema;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/recurring-jobs")
+public class RecurringJobController {
+    private final RecurringJobService recurringJobService;
+
+    public RecurringJobController(RecurringJobService recurringJobService) {
+        this.recurringJobService = recurringJobService;
+    }
+
+    @Operation(summary = "Create a recurring job", description = "Adds a job definition that is run on a cron expression (with seconds) or at a fixed rate")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "201", description = "Recurring job created successfully", content = @Content(mediaType = "application/json", schema = @Schema(implementation = RecurringJob.class), examples = @ExampleObject(name = "Example Response", value = "{\"id\": 1, \"type\": \"email\", \"priority\": 1, \"cronExpression\": \"0 0 * * * *\", \"fixedRateMs\": null, \"misfirePolicy\": \"FIRE_ONCE\", \"nextFireTime\": \"2025-01-27T11:00:00\", \"lastFireTime\": null}", summary = "An example recurring job response"))),
+            @ApiResponse(responseCode = "400", description = "Error Message", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ResponseDto.class), examples = @ExampleObject(name = "Example Response", value = "{\"message\": \"Invalid cron expression\", \"status\": 400}", summary = "An example error response")))
+    })
+    @PostMapping
+    public ResponseEntity<?> createRecurringJob(@RequestBody RecurringJobDto recurringJob) {
+        String error = recurringJobService.validateRecurringJob(recurringJob);
+        if (error != null) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(new ResponseDto(error, HttpStatus.BAD_REQUEST.value()));
+        }
+        return ResponseEntity.status(HttpStatus.CREATED).body(recurringJobService.createRecurringJob(recurringJob));
+    }
+
+    @Operation(summary = "Get all recurring jobs", description = "Returns a list of all recurring job definitions")
+    @GetMapping
+    public ResponseEntity<List<RecurringJob>> getAllRecurringJobs() {
+        return ResponseEntity.ok(recurringJobService.getAllRecurringJobs());
+    }
+
+    @Operation(summary = "Get a recurring job by ID", description = "Returns a recurring job definition by its ID")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "404", description = "Recurring job not found", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ResponseDto.class), examples = @ExampleObject(name = "Example Response", value = "{\"message\": \"Recurring job not found\", \"status\": 404}", summary = "An example error response")))
+    })
+    @GetMapping("/{id}")
+    public ResponseEntity<?> getRecurringJobById(@PathVariable Long id) {
+        RecurringJob recurringJob = recurringJobService.getRecurringJobById(id);
+        if (recurringJob == null) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(new ResponseDto("Recurring job not found", HttpStatus.NOT_FOUND.value()));
+        }
+        return ResponseEntity.ok(recurringJob);
+    }
+
+    @Operation(summary = "Delete a recurring job", description = "Stops a recurring job; jobs it already created are kept")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Recurring job deleted successfully", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ResponseDto.class), examples = @ExampleObject(name = "Example Response", value = "{\"message\": \"Recurring job deleted successfully\", \"status\": 200}", summary = "An example success response"))),
+            @ApiResponse(responseCode = "404", description = "Recurring job not found", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ResponseDto.class), examples = @ExampleObject(name = "Example Response", value = "{\"message\": \"Recurring job not found\", \"status\": 404}", summary = "An example error response")))
+    })
+    @DeleteMapping("/{id}")
+    public ResponseEntity<?> deleteRecurringJob(@PathVariable Long id) {
+        if (recurringJobService.getRecurringJobById(id) == null) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(new ResponseDto("Recurring job not found", HttpStatus.NOT_FOUND.value()));
+        }
+        recurringJobService.deleteRecurringJob(id);
+        return ResponseEntity.ok(new ResponseDto("Recurring job deleted successfully", HttpStatus.OK.value()));
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.job_management.dto;
+
+import java.time.LocalDateTime;
+
+import com.example.job_management.Common.BulkOperationStatus;
+import com.example.job_management.Common.BulkOperationType;
+
+/**
+ * Progress of a bulk operation. {@code matched} is the number of jobs that matched the
+ * filter when the operation started, {@code processed} how many of them have been
+ * looked at so far and {@code affected} how many were actually changed or deleted.
+ * Updated by the single thread that runs the operation.
+ */
+public class BulkOperationDto {
+    private final String id;
+    private final BulkOperationType type;
+    private final long matched;
+    private final LocalDateTime startedAt;
+    private volatile BulkOperationStatus status = BulkOperationStatus.RUNNING;
+    private volatile long processed;
+    private volatile long affected;
+    private volatile LocalDateTime finishedAt;
+    private volatile String error;
+
+    public BulkOperationDto(String id, BulkOperationType type, long matched, LocalDateTime startedAt) {
+        this.id = id;
+        this.type = type;
+        this.matched = matched;
+        this.startedAt = startedAt;
+    }
+
+    public void addProgress(int processedJobs, int affectedJobs) {
+        processed += processedJobs;
+        affected += affectedJobs;
+    }
+
+    public void complete() {
+        finishedAt = LocalDateTime.now();
+        status = BulkOperationStatus.COMPLETED;
+    }
+
+    public void fail(String error) {
+        this.error = error;
+        finishedAt = LocalDateTime.now();
+        status = BulkOperationStatus.FAILED;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public BulkOperationType getType() {
+        return type;
+    }
+
+    public BulkOperationStatus getStatus() {
+        return status;
+    }
+
+    public long getMatched() {
+        return matched;
+    }
+
+    public long getProcessed() {
+        return processed;
+    }
+
+    public long getAffected() {
+        return affected;
+    }
+
+    public LocalDateTime getStartedAt() {
+        return startedAt;
+    }
+
+    public LocalDateTime getFinishedAt() {
+        return finishedAt;
+    }
+
+    public String getError() {
+        return error;
+    }
+}
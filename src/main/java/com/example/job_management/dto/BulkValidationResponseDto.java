@@ -0,0 +1,16 @@
+package com.example.job_management.dto;
+
+import java.util.List;
+
+public class BulkValidationResponseDto extends ResponseDto {
+    private final List<JobValidationErrorDto> errors;
+
+    public BulkValidationResponseDto(String message, int status, List<JobValidationErrorDto> errors) {
+        super(message, status);
+        this.errors = List.copyOf(errors);
+    }
+
+    public List<JobValidationErrorDto> getErrors() {
+        return errors;
+    }
+}
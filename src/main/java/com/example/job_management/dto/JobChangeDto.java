@@ -0,0 +1,22 @@
+package com.example.job_management.dto;
+
+import java.time.LocalDateTime;
+
+import com.example.job_management.Common.JobState;
+
+/**
+ * A job as the dispatcher's index follows it: its summary and when it last changed.
+ */
+public class JobChangeDto extends JobSummaryDto {
+    private final LocalDateTime updatedAt;
+
+    public JobChangeDto(Long id, String type, JobState state, int priority, LocalDateTime scheduledTime,
+            LocalDateTime updatedAt) {
+        super(id, type, state, priority, scheduledTime);
+        this.updatedAt = updatedAt;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+}
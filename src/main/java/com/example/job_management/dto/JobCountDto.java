@@ -0,0 +1,38 @@
+package com.example.job_management.dto;
+
+import com.example.job_management.Common.JobState;
+
+public class JobCountDto {
+    private final JobState state;
+    private final String type;
+    private final int priority;
+    private final long count;
+
+    public JobCountDto(JobState state, String type, int priority, long count) {
+        this.state = state;
+        this.type = type;
+        this.priority = priority;
+        this.count = count;
+    }
+
+    // A count over all priorities
+    public JobCountDto(JobState state, String type, long count) {
+        this(state, type, 0, count);
+    }
+
+    public JobState getState() {
+        return state;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public int getPriority() {
+        return priority;
+    }
+
+    public long getCount() {
+        return count;
+    }
+}
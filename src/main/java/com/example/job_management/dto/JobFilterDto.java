@@ -0,0 +1,74 @@
+package com.example.job_management.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import com.example.job_management.Common.JobState;
+
+/**
+ * Selects the jobs of a bulk operation. Criteria that are left out match every job;
+ * the time window applies to the scheduled time and is {@code [scheduledFrom, scheduledTo)}.
+ */
+public class JobFilterDto {
+    private List<JobState> states;
+    private List<String> types;
+    private LocalDateTime scheduledFrom;
+    private LocalDateTime scheduledTo;
+    private List<Long> ids;
+
+    public JobFilterDto() {
+    }
+
+    public JobFilterDto(JobFilterDto filter) {
+        this.states = filter.states;
+        this.types = filter.types;
+        this.scheduledFrom = filter.scheduledFrom;
+        this.scheduledTo = filter.scheduledTo;
+        this.ids = filter.ids;
+    }
+
+    public boolean isEmpty() {
+        return (states == null || states.isEmpty()) && (types == null || types.isEmpty())
+                && scheduledFrom == null && scheduledTo == null && (ids == null || ids.isEmpty());
+    }
+
+    public List<JobState> getStates() {
+        return states;
+    }
+
+    public void setStates(List<JobState> states) {
+        this.states = states;
+    }
+
+    public List<String> getTypes() {
+        return types;
+    }
+
+    public void setTypes(List<String> types) {
+        this.types = types;
+    }
+
+    public LocalDateTime getScheduledFrom() {
+        return scheduledFrom;
+    }
+
+    public void setScheduledFrom(LocalDateTime scheduledFrom) {
+        this.scheduledFrom = scheduledFrom;
+    }
+
+    public LocalDateTime getScheduledTo() {
+        return scheduledTo;
+    }
+
+    public void setScheduledTo(LocalDateTime scheduledTo) {
+        this.scheduledTo = scheduledTo;
+    }
+
+    public List<Long> getIds() {
+        return ids;
+    }
+
+    public void setIds(List<Long> ids) {
+        this.ids = ids;
+    }
+}
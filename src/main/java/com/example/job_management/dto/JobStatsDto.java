@@ -0,0 +1,66 @@
+package com.example.job_management.dto;
+
+import com.example.job_management.Common.JobState;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+public class JobStatsDto {
+    private long total;
+    private Map<JobState, Long> byState;
+    private Map<String, Map<JobState, Long>> byType;
+    private Map<Integer, Long> byPriority;
+    private LocalDateTime reconciledAt;
+
+    public JobStatsDto() {
+    }
+
+    public JobStatsDto(long total, Map<JobState, Long> byState, Map<String, Map<JobState, Long>> byType,
+            Map<Integer, Long> byPriority, LocalDateTime reconciledAt) {
+        this.total = total;
+        this.byState = byState;
+        this.byType = byType;
+        this.byPriority = byPriority;
+        this.reconciledAt = reconciledAt;
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    public void setTotal(long total) {
+        this.total = total;
+    }
+
+    public Map<JobState, Long> getByState() {
+        return byState;
+    }
+
+    public void setByState(Map<JobState, Long> byState) {
+        this.byState = byState;
+    }
+
+    public Map<String, Map<JobState, Long>> getByType() {
+        return byType;
+    }
+
+    public void setByType(Map<String, Map<JobState, Long>> byType) {
+        this.byType = byType;
+    }
+
+    public Map<Integer, Long> getByPriority() {
+        return byPriority;
+    }
+
+    public void setByPriority(Map<Integer, Long> byPriority) {
+        this.byPriority = byPriority;
+    }
+
+    public LocalDateTime getReconciledAt() {
+        return reconciledAt;
+    }
+
+    public void setReconciledAt(LocalDateTime reconciledAt) {
+        this.reconciledAt = reconciledAt;
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.job_management.dto;
+
+import java.time.LocalDateTime;
+
+import com.example.job_management.Common.JobState;
+
+/**
+ * Read-only view of a job, filled straight from a query so listing jobs does not
+ * load and track managed entities.
+ */
+public class JobSummaryDto {
+    private final Long id;
+    private final String type;
+    private final JobState state;
+    private final int priority;
+    private final LocalDateTime scheduledTime;
+
+    public JobSummaryDto(Long id, String type, JobState state, int priority, LocalDateTime scheduledTime) {
+        this.id = id;
+        this.type = type;
+        this.state = state;
+        this.priority = priority;
+        this.scheduledTime = scheduledTime;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public JobState getState() {
+        return state;
+    }
+
+    public int getPriority() {
+        return priority;
+    }
+
+    public LocalDateTime getScheduledTime() {
+        return scheduledTime;
+    }
+}
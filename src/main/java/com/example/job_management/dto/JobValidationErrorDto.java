@@ -0,0 +1,30 @@
+package com.example.job_management.dto;
+
+public class JobValidationErrorDto {
+    private int index;
+    private String message;
+
+    public JobValidationErrorDto() {
+    }
+
+    public JobValidationErrorDto(int index, String message) {
+        this.index = index;
+        this.message = message;
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public void setIndex(int index) {
+        this.index = index;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.job_management.dto;
+
+import java.time.LocalDateTime;
+
+import com.example.job_management.Common.MisfirePolicy;
+
+public class RecurringJobDto {
+    private String type;
+    private int priority;
+    private String cronExpression;
+    private Long fixedRateMs;
+    private MisfirePolicy misfirePolicy;
+    private LocalDateTime startTime;
+
+    public RecurringJobDto() {
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public int getPriority() {
+        return priority;
+    }
+
+    public void setPriority(int priority) {
+        this.priority = priority;
+    }
+
+    public String getCronExpression() {
+        return cronExpression;
+    }
+
+    public void setCronExpression(String cronExpression) {
+        this.cronExpression = cronExpression;
+    }
+
+    public Long getFixedRateMs() {
+        return fixedRateMs;
+    }
+
+    public void setFixedRateMs(Long fixedRateMs) {
+        this.fixedRateMs = fixedRateMs;
+    }
+
+    public MisfirePolicy getMisfirePolicy() {
+        return misfirePolicy;
+    }
+
+    public void setMisfirePolicy(MisfirePolicy misfirePolicy) {
+        this.misfirePolicy = misfirePolicy;
+    }
+
+    public LocalDateTime getStartTime() {
+        return startTime;
+    }
+
+    public void setStartTime(LocalDateTime startTime) {
+        this.startTime = startTime;
+    }
+}
@@ -1,8 +1,9 @@
 package com.example.job_management.dto;
 
+// Immutable, since the controllers hand out shared instances for fixed responses
 public class ResponseDto {
-    private String message;
-    private int status;
+    private final String message;
+    private final int status;
 
     public ResponseDto(String message, int status) {
         this.message = message;
@@ -13,15 +14,7 @@ public class ResponseDto {
         return message;
     }
 
-    public void setMessage(String message) {
-        this.message = message;
-    }
-
     public int getStatus() {
         return status;
     }
-
-    public void setStatus(int status) {
-        this.status = status;
-    }
 }
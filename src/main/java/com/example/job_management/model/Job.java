@@ -1,12 +1,21 @@
 package com.example.job_management.model;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.CurrentTimestamp;
+import org.hibernate.annotations.SourceType;
+
 import java.time.LocalDateTime;
 
 import com.example.job_management.Common.JobState;
 import com.example.job_management.dto.JobDto;
 
 @Entity
+@Table(indexes = {
+        // The dispatchers follow the changed jobs through it
+        @Index(name = "idx_job_updated_at", columnList = "updatedAt, id"),
+        // Admission control counts the queued jobs per type every second
+        @Index(name = "idx_job_state_type", columnList = "state, type")
+})
 public class Job {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -22,6 +31,17 @@ public class Job {
     @Column(nullable = true)
     private LocalDateTime scheduledTime;
 
+    // When the job was last put into QUEUED by a submission or retry
+    private LocalDateTime queuedAt;
+
+    // W3C traceparent of the request that submitted (or last retried) the job
+    @Column(length = 55)
+    private String traceParent;
+
+    // Database time of the last change; the bulk statements in JobRepository set it as well
+    @CurrentTimestamp(source = SourceType.DB)
+    private LocalDateTime updatedAt;
+
     public Job() {
     }
 
@@ -78,4 +98,24 @@ public class Job {
     public void setScheduledTime(LocalDateTime scheduledTime) {
         this.scheduledTime = scheduledTime;
     }
+
+    public LocalDateTime getQueuedAt() {
+        return queuedAt;
+    }
+
+    public void setQueuedAt(LocalDateTime queuedAt) {
+        this.queuedAt = queuedAt;
+    }
+
+    public String getTraceParent() {
+        return traceParent;
+    }
+
+    public void setTraceParent(String traceParent) {
+        this.traceParent = traceParent;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
 }
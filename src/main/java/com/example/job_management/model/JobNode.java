@@ -0,0 +1,47 @@
+package com.example.job_management.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+@Entity
+public class JobNode {
+    @Id
+    private String nodeId;
+
+    private LocalDateTime joinedAt;
+
+    private LocalDateTime lastHeartbeat;
+
+    public JobNode() {
+    }
+
+    public JobNode(String nodeId, LocalDateTime joinedAt) {
+        this.nodeId = nodeId;
+        this.joinedAt = joinedAt;
+        this.lastHeartbeat = joinedAt;
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    public void setNodeId(String nodeId) {
+        this.nodeId = nodeId;
+    }
+
+    public LocalDateTime getJoinedAt() {
+        return joinedAt;
+    }
+
+    public void setJoinedAt(LocalDateTime joinedAt) {
+        this.joinedAt = joinedAt;
+    }
+
+    public LocalDateTime getLastHeartbeat() {
+        return lastHeartbeat;
+    }
+
+    public void setLastHeartbeat(LocalDateTime lastHeartbeat) {
+        this.lastHeartbeat = lastHeartbeat;
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.job_management.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+@Entity
+public class LeaderLease {
+    @Id
+    private String name;
+
+    @Column(nullable = true)
+    private String owner;
+
+    // Fencing token, incremented every time the lease changes hands
+    private long token;
+
+    private LocalDateTime expiresAt;
+
+    public LeaderLease() {
+    }
+
+    public LeaderLease(String name, LocalDateTime expiresAt) {
+        this.name = name;
+        this.expiresAt = expiresAt;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getOwner() {
+        return owner;
+    }
+
+    public void setOwner(String owner) {
+        this.owner = owner;
+    }
+
+    public long getToken() {
+        return token;
+    }
+
+    public void setToken(long token) {
+        this.token = token;
+    }
+
+    public LocalDateTime getExpiresAt() {
+        return expiresAt;
+    }
+
+    public void setExpiresAt(LocalDateTime expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+}
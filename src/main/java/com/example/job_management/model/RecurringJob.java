@@ -0,0 +1,98 @@
+package com.example.job_management.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+import com.example.job_management.Common.MisfirePolicy;
+
+@Entity
+public class RecurringJob {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    private String type;
+
+    private int priority;
+
+    @Column(nullable = true)
+    private String cronExpression;
+
+    @Column(nullable = true)
+    private Long fixedRateMs;
+
+    @Enumerated(EnumType.STRING)
+    private MisfirePolicy misfirePolicy;
+
+    private LocalDateTime nextFireTime;
+
+    @Column(nullable = true)
+    private LocalDateTime lastFireTime;
+
+    public RecurringJob() {
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public int getPriority() {
+        return priority;
+    }
+
+    public void setPriority(int priority) {
+        this.priority = priority;
+    }
+
+    public String getCronExpression() {
+        return cronExpression;
+    }
+
+    public void setCronExpression(String cronExpression) {
+        this.cronExpression = cronExpression;
+    }
+
+    public Long getFixedRateMs() {
+        return fixedRateMs;
+    }
+
+    public void setFixedRateMs(Long fixedRateMs) {
+        this.fixedRateMs = fixedRateMs;
+    }
+
+    public MisfirePolicy getMisfirePolicy() {
+        return misfirePolicy;
+    }
+
+    public void setMisfirePolicy(MisfirePolicy misfirePolicy) {
+        this.misfirePolicy = misfirePolicy;
+    }
+
+    public LocalDateTime getNextFireTime() {
+        return nextFireTime;
+    }
+
+    public void setNextFireTime(LocalDateTime nextFireTime) {
+        this.nextFireTime = nextFireTime;
+    }
+
+    public LocalDateTime getLastFireTime() {
+        return lastFireTime;
+    }
+
+    public void setLastFireTime(LocalDateTime lastFireTime) {
+        this.lastFireTime = lastFireTime;
+    }
+}
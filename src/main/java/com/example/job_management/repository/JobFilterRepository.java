@@ -0,0 +1,16 @@
+package com.example.job_management.repository;
+
+import com.example.job_management.dto.JobFilterDto;
+
+import java.util.List;
+
+public interface JobFilterRepository {
+
+    /**
+     * Ids of the jobs matching the filter above {@code afterId}, in id order, so a large
+     * result can be walked in chunks.
+     */
+    List<Long> findIdsByFilter(JobFilterDto filter, long afterId, int limit);
+
+    long countByFilter(JobFilterDto filter);
+}
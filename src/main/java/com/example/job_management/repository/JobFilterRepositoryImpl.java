@@ -0,0 +1,63 @@
+package com.example.job_management.repository;
+
+import com.example.job_management.dto.JobFilterDto;
+import com.example.job_management.model.Job;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+// Criteria query, since every criterion of the filter is optional
+class JobFilterRepositoryImpl implements JobFilterRepository {
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Long> findIdsByFilter(JobFilterDto filter, long afterId, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Job> job = query.from(Job.class);
+        List<Predicate> predicates = predicates(cb, job, filter);
+        Path<Long> id = job.get("id");
+        predicates.add(cb.greaterThan(id, afterId));
+        query.select(id).where(predicates.toArray(Predicate[]::new)).orderBy(cb.asc(id));
+        return entityManager.createQuery(query).setMaxResults(limit).getResultList();
+    }
+
+    @Override
+    public long countByFilter(JobFilterDto filter) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Job> job = query.from(Job.class);
+        query.select(cb.count(job)).where(predicates(cb, job, filter).toArray(Predicate[]::new));
+        return entityManager.createQuery(query).getSingleResult();
+    }
+
+    private static List<Predicate> predicates(CriteriaBuilder cb, Root<Job> job, JobFilterDto filter) {
+        List<Predicate> predicates = new ArrayList<>();
+        Path<LocalDateTime> scheduledTime = job.get("scheduledTime");
+        if (filter.getStates() != null && !filter.getStates().isEmpty()) {
+            predicates.add(job.get("state").in(filter.getStates()));
+        }
+        if (filter.getTypes() != null && !filter.getTypes().isEmpty()) {
+            predicates.add(job.get("type").in(filter.getTypes()));
+        }
+        if (filter.getIds() != null && !filter.getIds().isEmpty()) {
+            predicates.add(job.get("id").in(filter.getIds()));
+        }
+        if (filter.getScheduledFrom() != null) {
+            predicates.add(cb.greaterThanOrEqualTo(scheduledTime, filter.getScheduledFrom()));
+        }
+        if (filter.getScheduledTo() != null) {
+            predicates.add(cb.lessThan(scheduledTime, filter.getScheduledTo()));
+        }
+        return predicates;
+    }
+}
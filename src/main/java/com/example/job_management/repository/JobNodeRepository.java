@@ -0,0 +1,29 @@
+package com.example.job_management.repository;
+
+import com.example.job_management.model.JobNode;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface JobNodeRepository extends JpaRepository<JobNode, String> {
+
+    @Query("select n.nodeId from JobNode n where n.lastHeartbeat > :since")
+    List<String> findLiveNodeIds(LocalDateTime since);
+
+    @Modifying
+    @Transactional
+    @Query("update JobNode n set n.lastHeartbeat = :now where n.nodeId = :nodeId")
+    int heartbeat(String nodeId, LocalDateTime now);
+
+    @Modifying
+    @Transactional
+    @Query("delete from JobNode n where n.lastHeartbeat < :before"
+            + " and exists (select l from LeaderLease l where l.name = :lease and l.token = :token)")
+    int deleteStaleNodes(LocalDateTime before, String lease, long token);
+}
@@ -1,9 +1,90 @@
 package com.example.job_management.repository;
 
+import com.example.job_management.Common.JobState;
+import com.example.job_management.dto.JobChangeDto;
+import com.example.job_management.dto.JobCountDto;
+import com.example.job_management.dto.JobSummaryDto;
 import com.example.job_management.model.Job;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 
 @Repository
-public interface JobRepository extends JpaRepository<Job, Long> {
+public interface JobRepository extends JpaRepository<Job, Long>, JobFilterRepository {
+
+    @Query("select new com.example.job_management.dto.JobSummaryDto(j.id, j.type, j.state, j.priority, j.scheduledTime)"
+            + " from Job j order by j.id")
+    List<JobSummaryDto> findAllSummaries();
+
+    @Query("select j.state from Job j where j.id = :id")
+    Optional<JobState> findStateById(Long id);
+
+    @Query("select j.id from Job j where j.state = :state and j.type in :types"
+            + " and (j.scheduledTime is null or j.scheduledTime <= :now)"
+            + " and mod(j.id, :partitionCount) in :partitions order by j.priority desc, j.id")
+    List<Long> findDispatchableIds(JobState state, Collection<String> types, Collection<Integer> partitions,
+            int partitionCount, LocalDateTime now, Pageable pageable);
+
+    @Query("select new com.example.job_management.dto.JobSummaryDto(j.id, j.type, j.state, j.priority, j.scheduledTime)"
+            + " from Job j where j.state = :state and j.type in :types and j.id > :afterId"
+            + " and mod(j.id, :partitionCount) in :partitions order by j.id")
+    List<JobSummaryDto> findSummariesAfter(JobState state, Collection<String> types, Collection<Integer> partitions,
+            int partitionCount, Long afterId, Pageable pageable);
+
+    @Query("select new com.example.job_management.dto.JobChangeDto(j.id, j.type, j.state, j.priority, j.scheduledTime,"
+            + " j.updatedAt) from Job j where j.type in :types and mod(j.id, :partitionCount) in :partitions"
+            + " and (j.updatedAt > :since or (j.updatedAt = :since and j.id > :afterId)) order by j.updatedAt, j.id")
+    List<JobChangeDto> findChangesSince(Collection<String> types, Collection<Integer> partitions,
+            int partitionCount, LocalDateTime since, Long afterId, Pageable pageable);
+
+    @Query("select max(j.updatedAt) from Job j")
+    Optional<LocalDateTime> findLastUpdatedAt();
+
+    @Modifying
+    @Transactional
+    @Query("update Job j set j.state = :to, j.updatedAt = local datetime where j.id = :id and j.state = :from")
+    int transition(Long id, JobState from, JobState to);
+
+    @Modifying
+    @Transactional
+    @Query("update Job j set j.state = :to, j.updatedAt = local datetime where j.id in :ids and j.state = :from")
+    int transitionAll(Collection<Long> ids, JobState from, JobState to);
+
+    @Modifying
+    @Transactional
+    @Query("update Job j set j.state = :to, j.queuedAt = :queuedAt, j.traceParent = :traceParent,"
+            + " j.updatedAt = local datetime where j.id in :ids and j.state = :from")
+    int requeueAll(Collection<Long> ids, JobState from, JobState to, LocalDateTime queuedAt, String traceParent);
+
+    @Modifying
+    @Transactional
+    @Query("update Job j set j.state = :to, j.queuedAt = :queuedAt, j.updatedAt = local datetime"
+            + " where j.id in :ids and j.state = :from")
+    int requeueAll(Collection<Long> ids, JobState from, JobState to, LocalDateTime queuedAt);
+
+    @Modifying
+    @Transactional
+    @Query("update Job j set j.priority = :priority, j.updatedAt = local datetime where j.id in :ids")
+    int updatePriorityAll(Collection<Long> ids, int priority);
+
+    @Modifying
+    @Transactional
+    @Query("delete from Job j where j.id in :ids and j.state <> :excluded")
+    int deleteAllNotInState(Collection<Long> ids, JobState excluded);
+
+    @Query("select new com.example.job_management.dto.JobCountDto(j.state, j.type, j.priority, count(j))"
+            + " from Job j group by j.state, j.type, j.priority")
+    List<JobCountDto> countByStateTypeAndPriority();
+
+    @Query("select new com.example.job_management.dto.JobCountDto(j.state, j.type, count(j))"
+            + " from Job j where j.state = :state group by j.state, j.type")
+    List<JobCountDto> countByTypeInState(JobState state);
 }
@@ -0,0 +1,26 @@
+package com.example.job_management.repository;
+
+import com.example.job_management.model.LeaderLease;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface LeaderLeaseRepository extends JpaRepository<LeaderLease, String> {
+
+    @Modifying
+    @Transactional
+    @Query("update LeaderLease l set l.owner = :owner, l.token = l.token + 1, l.expiresAt = :expiresAt"
+            + " where l.name = :name and l.expiresAt < :now")
+    int acquire(String name, String owner, LocalDateTime now, LocalDateTime expiresAt);
+
+    @Modifying
+    @Transactional
+    @Query("update LeaderLease l set l.expiresAt = :expiresAt"
+            + " where l.name = :name and l.owner = :owner and l.token = :token")
+    int renew(String name, String owner, long token, LocalDateTime expiresAt);
+}
@@ -0,0 +1,24 @@
+package com.example.job_management.repository;
+
+import com.example.job_management.model.RecurringJob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface RecurringJobRepository extends JpaRepository<RecurringJob, Long> {
+
+    List<RecurringJob> findByIdGreaterThanOrderByIdAsc(Long id);
+
+    @Modifying
+    @Transactional
+    @Query("update RecurringJob r set r.nextFireTime = :next, r.lastFireTime = :fired"
+            + " where r.id = :id and r.nextFireTime = :expected"
+            + " and exists (select l from LeaderLease l where l.name = :lease and l.token = :token)")
+    int advance(Long id, LocalDateTime expected, LocalDateTime next, LocalDateTime fired, String lease, long token);
+}
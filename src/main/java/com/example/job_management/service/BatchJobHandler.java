@@ -0,0 +1,32 @@
+package com.example.job_management.service;
+
+import com.example.job_management.model.Job;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Executes jobs of a single type in batches, for types where one call can serve many
+ * jobs (e.g. one SMTP session for many emails). The dispatcher claims up to
+ * {@link #getMaxBatchSize()} due jobs of the type, waits up to {@link #getMaxLingerMs()}
+ * for more to become due if the batch is not full, and hands them over together. A
+ * type has either a {@link JobHandler} or a batch handler, not both.
+ */
+public interface BatchJobHandler {
+
+    String getType();
+
+    default int getMaxBatchSize() {
+        return 100;
+    }
+
+    default long getMaxLingerMs() {
+        return 50;
+    }
+
+    /**
+     * @return the ids of the jobs that failed; every other job of the batch succeeded.
+     *         Null is the same as an empty set. Throwing fails the whole batch.
+     */
+    Set<Long> execute(List<Job> jobs) throws Exception;
+}
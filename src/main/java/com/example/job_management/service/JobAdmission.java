@@ -0,0 +1,204 @@
+package com.example.job_management.service;
+
+import com.example.job_management.Common.JobState;
+import com.example.job_management.dto.JobCountDto;
+import com.example.job_management.dto.JobDto;
+import com.example.job_management.model.Job;
+import com.example.job_management.repository.JobRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Rejects submissions while too many jobs are queued, globally or for one type. The
+ * queued counts are read from the table every {@code refresh-interval-ms}, so every
+ * node sees the jobs queued and claimed by the others, and the jobs this node admitted
+ * since are added on top; the check itself costs no query. Concurrent requests can
+ * overshoot a ceiling by at most their own size, and jobs admitted on other nodes count
+ * from the next refresh.
+ *
+ * <p>In adaptive mode the global ceiling follows the time jobs wait between becoming
+ * due and being claimed: it is cut by {@code decrease-factor} while the smoothed wait
+ * is above the target and grows by {@code increase-step} otherwise (AIMD), between
+ * {@code min-queued} and {@code max-queued}.
+ */
+@Service
+public class JobAdmission {
+    private final JobRepository jobRepository;
+    private final long maxQueued;
+    private final Map<String, Long> maxQueuedPerType;
+    private final long retryAfterSeconds;
+    private final boolean adaptive;
+    private final long targetLatencyMs;
+    private final long minQueued;
+    private final long increaseStep;
+    private final double decreaseFactor;
+    private final double smoothing;
+
+    private volatile long limit;
+    private volatile double latencyMs = -1;
+    private volatile QueuedCounts queued;
+
+    public JobAdmission(JobRepository jobRepository,
+            @Value("${job.admission.max-queued:100000}") long maxQueued,
+            @Value("${job.admission.max-queued-per-type:}") String maxQueuedPerType,
+            @Value("${job.admission.retry-after-seconds:5}") long retryAfterSeconds,
+            @Value("${job.admission.adaptive.enabled:false}") boolean adaptive,
+            @Value("${job.admission.adaptive.target-latency-ms:5000}") long targetLatencyMs,
+            @Value("${job.admission.adaptive.min-queued:100}") long minQueued,
+            @Value("${job.admission.adaptive.increase-step:100}") long increaseStep,
+            @Value("${job.admission.adaptive.decrease-factor:0.5}") double decreaseFactor,
+            @Value("${job.admission.adaptive.smoothing:0.2}") double smoothing) {
+        this.jobRepository = jobRepository;
+        this.maxQueued = maxQueued;
+        this.maxQueuedPerType = parseLimits(maxQueuedPerType);
+        this.retryAfterSeconds = retryAfterSeconds;
+        this.adaptive = adaptive;
+        this.targetLatencyMs = targetLatencyMs;
+        this.minQueued = Math.min(minQueued, maxQueued);
+        this.increaseStep = increaseStep;
+        this.decreaseFactor = decreaseFactor;
+        this.smoothing = smoothing;
+        this.limit = maxQueued;
+    }
+
+    // "email=1000,report=50"
+    private static Map<String, Long> parseLimits(String limits) {
+        Map<String, Long> parsed = new HashMap<>();
+        for (String entry : limits.split(",")) {
+            if (entry.isBlank()) {
+                continue;
+            }
+            String[] parts = entry.split("=");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Invalid job.admission.max-queued-per-type entry: " + entry);
+            }
+            parsed.put(parts[0].trim(), Long.parseLong(parts[1].trim()));
+        }
+        return parsed;
+    }
+
+    /**
+     * @return why the job cannot be accepted now, or null if it can
+     */
+    public String admit(JobDto job) {
+        return admit(Map.of(job.getType(), 1L), 1);
+    }
+
+    /**
+     * All or nothing: one type over its ceiling rejects the whole batch.
+     */
+    public String admit(List<JobDto> jobs) {
+        Map<String, Long> perType = new HashMap<>();
+        for (JobDto job : jobs) {
+            perType.merge(job.getType(), 1L, Long::sum);
+        }
+        return admit(perType, jobs.size());
+    }
+
+    private String admit(Map<String, Long> perType, long total) {
+        QueuedCounts counts = queued;
+        if (counts == null) {
+            refresh();
+            counts = queued;
+        }
+        long ceiling = limit;
+        if (counts.get() + total > ceiling) {
+            return "Too many queued jobs (limit " + ceiling + ")";
+        }
+        for (Map.Entry<String, Long> entry : perType.entrySet()) {
+            Long typeCeiling = maxQueuedPerType.get(entry.getKey());
+            if (typeCeiling != null && counts.get(entry.getKey()) + entry.getValue() > typeCeiling) {
+                return "Too many queued jobs of type " + entry.getKey() + " (limit " + typeCeiling + ")";
+            }
+        }
+        counts.admitted(perType, total);
+        return null;
+    }
+
+    /**
+     * Replaces the queued counts, and the jobs admitted here since the last refresh, by
+     * a count over the table.
+     */
+    @Scheduled(fixedDelayString = "${job.admission.refresh-interval-ms:1000}")
+    public void refresh() {
+        queued = new QueuedCounts(jobRepository.countByTypeInState(JobState.QUEUED));
+    }
+
+    /**
+     * Records how long a claimed job waited since it became due.
+     */
+    public void onDispatched(Job job, LocalDateTime claimedAt) {
+        if (!adaptive || job.getQueuedAt() == null) {
+            return;
+        }
+        LocalDateTime due = job.getScheduledTime() != null && job.getScheduledTime().isAfter(job.getQueuedAt())
+                ? job.getScheduledTime() : job.getQueuedAt();
+        double sample = Math.max(0, Duration.between(due, claimedAt).toMillis());
+        synchronized (this) {
+            latencyMs = latencyMs < 0 ? sample : latencyMs + smoothing * (sample - latencyMs);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${job.admission.adaptive.adjust-interval-ms:1000}")
+    public void adjust() {
+        if (!adaptive || latencyMs < 0) {
+            return;
+        }
+        if (latencyMs > targetLatencyMs) {
+            limit = Math.max(minQueued, (long) (limit * decreaseFactor));
+        } else {
+            limit = Math.min(maxQueued, limit + increaseStep);
+        }
+    }
+
+    public long getRetryAfterSeconds() {
+        if (!adaptive || latencyMs < 0) {
+            return retryAfterSeconds;
+        }
+        // Roughly the time the jobs already queued need to be picked up
+        return Math.max(retryAfterSeconds, (long) Math.ceil(latencyMs / 1000));
+    }
+
+    public long getLimit() {
+        return limit;
+    }
+
+    private static class QueuedCounts {
+        private final long total;
+        private final Map<String, Long> byType = new HashMap<>();
+        private final LongAdder admitted = new LongAdder();
+        private final ConcurrentHashMap<String, LongAdder> admittedByType = new ConcurrentHashMap<>();
+
+        QueuedCounts(List<JobCountDto> rows) {
+            long sum = 0;
+            for (JobCountDto row : rows) {
+                byType.merge(row.getType() == null ? "" : row.getType(), row.getCount(), Long::sum);
+                sum += row.getCount();
+            }
+            this.total = sum;
+        }
+
+        long get() {
+            return total + admitted.sum();
+        }
+
+        long get(String type) {
+            LongAdder local = admittedByType.get(type);
+            return byType.getOrDefault(type, 0L) + (local == null ? 0 : local.sum());
+        }
+
+        void admitted(Map<String, Long> perType, long count) {
+            admitted.add(count);
+            perType.forEach((type, n) -> admittedByType.computeIfAbsent(type, k -> new LongAdder()).add(n));
+        }
+    }
+}
@@ -0,0 +1,204 @@
+package com.example.job_management.service;
+
+import com.example.job_management.Common.BulkOperationStatus;
+import com.example.job_management.Common.BulkOperationType;
+import com.example.job_management.Common.JobState;
+import com.example.job_management.dto.BulkOperationDto;
+import com.example.job_management.dto.JobFilterDto;
+import com.example.job_management.repository.JobRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.ToIntFunction;
+
+/**
+ * Retries, deletes or reprioritizes every job that matches a filter. The matching ids
+ * are walked in id order, {@code job.bulk.chunk-size} at a time, and each chunk is
+ * changed by one set-based statement in its own transaction, so no entity is loaded and
+ * no lock is held for the whole set. Operations matching more than
+ * {@code job.bulk.sync-limit} jobs run in the background, one at a time; their progress
+ * is only known to the instance that runs them. The statements stamp {@code updatedAt},
+ * so the dispatchers pick up retried and reprioritized jobs at their next poll.
+ */
+@Service
+public class JobBulkService {
+    private static final Logger log = LoggerFactory.getLogger(JobBulkService.class);
+    private static final int RETAINED_OPERATIONS = 100;
+
+    private final JobRepository jobRepository;
+    private final JobStatistics jobStatistics;
+    private final JobTracing jobTracing;
+    private final int chunkSize;
+    private final long syncLimit;
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+    // Guarded by itself; running operations are never evicted
+    private final Map<String, BulkOperationDto> operations = new LinkedHashMap<>();
+
+    public JobBulkService(JobRepository jobRepository, JobStatistics jobStatistics, JobTracing jobTracing,
+            @Value("${job.bulk.chunk-size:1000}") int chunkSize,
+            @Value("${job.bulk.sync-limit:10000}") long syncLimit) {
+        this.jobRepository = jobRepository;
+        this.jobStatistics = jobStatistics;
+        this.jobTracing = jobTracing;
+        this.chunkSize = chunkSize;
+        this.syncLimit = syncLimit;
+    }
+
+    public String validateFilter(JobFilterDto filter) {
+        if (filter == null || filter.isEmpty()) {
+            return "Filter must have at least one criterion";
+        }
+        if (filter.getScheduledFrom() != null && filter.getScheduledTo() != null
+                && !filter.getScheduledFrom().isBefore(filter.getScheduledTo())) {
+            return "scheduledFrom must be before scheduledTo";
+        }
+        return null;
+    }
+
+    /**
+     * Puts the matching {@code FAILED} jobs back to {@code QUEUED}.
+     */
+    public BulkOperationDto retryJobs(JobFilterDto filter) {
+        String traceParent = jobTracing.currentTraceParent();
+        return start(BulkOperationType.RETRY, restrictStates(filter, EnumSet.of(JobState.FAILED)),
+                ids -> jobRepository.requeueAll(ids, JobState.FAILED, JobState.QUEUED, LocalDateTime.now(),
+                        traceParent));
+    }
+
+    /**
+     * Deletes the matching jobs, except running ones.
+     */
+    public BulkOperationDto deleteJobs(JobFilterDto filter) {
+        return start(BulkOperationType.DELETE,
+                restrictStates(filter, EnumSet.complementOf(EnumSet.of(JobState.RUNNING))),
+                ids -> jobRepository.deleteAllNotInState(ids, JobState.RUNNING));
+    }
+
+    public BulkOperationDto reprioritizeJobs(JobFilterDto filter, int priority) {
+        return start(BulkOperationType.REPRIORITIZE, filter, ids -> jobRepository.updatePriorityAll(ids, priority));
+    }
+
+    public BulkOperationDto getOperation(String id) {
+        synchronized (operations) {
+            return operations.get(id);
+        }
+    }
+
+    private void retain(BulkOperationDto operation) {
+        synchronized (operations) {
+            operations.put(operation.getId(), operation);
+            Iterator<BulkOperationDto> oldest = operations.values().iterator();
+            while (operations.size() > RETAINED_OPERATIONS && oldest.hasNext()) {
+                if (oldest.next().getStatus() != BulkOperationStatus.RUNNING) {
+                    oldest.remove();
+                }
+            }
+        }
+    }
+
+    // Narrows the filter to the states the operation applies to, or null if none is left
+    private static JobFilterDto restrictStates(JobFilterDto filter, EnumSet<JobState> allowed) {
+        EnumSet<JobState> states = EnumSet.copyOf(allowed);
+        if (filter.getStates() != null && !filter.getStates().isEmpty()) {
+            states.retainAll(filter.getStates());
+        }
+        if (states.isEmpty()) {
+            return null;
+        }
+        JobFilterDto restricted = new JobFilterDto(filter);
+        restricted.setStates(List.copyOf(states));
+        return restricted;
+    }
+
+    private BulkOperationDto start(BulkOperationType type, JobFilterDto filter,
+            ToIntFunction<List<Long>> statement) {
+        long matched = 0;
+        if (filter != null && hasIds(filter)) {
+            for (JobFilterDto chunk : idChunks(filter)) {
+                matched += jobRepository.countByFilter(chunk);
+            }
+        } else if (filter != null) {
+            matched = jobRepository.countByFilter(filter);
+        }
+        BulkOperationDto operation = new BulkOperationDto(UUID.randomUUID().toString(), type, matched,
+                LocalDateTime.now());
+        retain(operation);
+        if (matched <= syncLimit) {
+            run(operation, filter, statement);
+        } else {
+            log.info("Running bulk {} {} over {} jobs in the background", type, operation.getId(), matched);
+            executor.execute(jobTracing.inCurrentTrace(() -> run(operation, filter, statement)));
+        }
+        return operation;
+    }
+
+    void run(BulkOperationDto operation, JobFilterDto filter, ToIntFunction<List<Long>> statement) {
+        try {
+            if (filter != null && hasIds(filter)) {
+                for (JobFilterDto chunk : idChunks(filter)) {
+                    List<Long> ids = jobRepository.findIdsByFilter(chunk, 0, chunkSize);
+                    apply(operation, ids.size(), ids, statement);
+                }
+            } else if (filter != null) {
+                long afterId = 0;
+                List<Long> chunk;
+                do {
+                    chunk = jobRepository.findIdsByFilter(filter, afterId, chunkSize);
+                    if (!chunk.isEmpty()) {
+                        apply(operation, chunk.size(), chunk, statement);
+                        afterId = chunk.get(chunk.size() - 1);
+                    }
+                } while (chunk.size() == chunkSize);
+            }
+            operation.complete();
+        } catch (RuntimeException e) {
+            log.warn("Bulk {} {} failed after {} jobs", operation.getType(), operation.getId(),
+                    operation.getProcessed(), e);
+            operation.fail(e.getMessage());
+        }
+    }
+
+    private void apply(BulkOperationDto operation, int processed, List<Long> ids,
+            ToIntFunction<List<Long>> statement) {
+        int affected = ids.isEmpty() ? 0 : statement.applyAsInt(ids);
+        if (affected > 0) {
+            // The statements do not report which types and states they changed
+            jobStatistics.markStale();
+        }
+        operation.addProgress(processed, affected);
+    }
+
+    // The filter split into one filter per chunk of its ids, so no IN list is longer than a chunk
+    private List<JobFilterDto> idChunks(JobFilterDto filter) {
+        List<Long> ids = filter.getIds().stream().distinct().sorted().toList();
+        List<JobFilterDto> chunks = new ArrayList<>();
+        for (int from = 0; from < ids.size(); from += chunkSize) {
+            JobFilterDto chunk = new JobFilterDto(filter);
+            chunk.setIds(ids.subList(from, Math.min(ids.size(), from + chunkSize)));
+            chunks.add(chunk);
+        }
+        return chunks;
+    }
+
+    private static boolean hasIds(JobFilterDto filter) {
+        return filter.getIds() != null && !filter.getIds().isEmpty();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
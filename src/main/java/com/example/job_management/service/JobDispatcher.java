@@ -0,0 +1,499 @@
+package com.example.job_management.service;
+
+import com.example.job_management.Common.JobState;
+import com.example.job_management.dto.JobChangeDto;
+import com.example.job_management.dto.JobSummaryDto;
+import com.example.job_management.model.Job;
+import com.example.job_management.repository.JobRepository;
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Claims due {@code QUEUED} jobs from the partitions this node owns and runs them
+ * on a fixed pool of workers. Claiming is a conditional {@code QUEUED -> RUNNING}
+ * update, so two nodes that briefly disagree about partition ownership during a
+ * rebalance can never both run the same job. A job of a type with a
+ * {@link BatchJobHandler} does not get a worker of its own; the whole batch shares one.
+ *
+ * <p>With the index enabled, due jobs are picked from a {@link PendingJobIndex} instead
+ * of being queried on every poll. The queued jobs of a partition are loaded once, when
+ * this node takes the partition over; from then on each poll reads only the jobs whose
+ * {@code updatedAt} moved past the change watermark, and adds, replaces or removes
+ * their entries. A row becomes visible when its transaction commits, which can be
+ * after rows stamped later, so every {@code change-lookback-interval-ms} a poll reads
+ * again from {@code change-lookback-ms} before the watermark of the previous reread.
+ * Deleted jobs leave no row to read and stay indexed until they are due; that
+ * is harmless, since a claim only succeeds if the job is still {@code QUEUED}.
+ *
+ * <p>With a {@link PendingJobIndexSnapshot} configured, the index is saved to disk
+ * periodically and on shutdown, and the first build after a restart starts from the
+ * snapshot and follows the changes since its watermark, instead of loading every
+ * queued job.
+ */
+@Service
+public class JobDispatcher {
+    private static final Logger log = LoggerFactory.getLogger(JobDispatcher.class);
+    private static final long LINGER_POLL_MS = 10;
+    private static final LocalDateTime NO_CHANGES = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    private final JobRepository jobRepository;
+    private final PartitionService partitionService;
+    private final TransitionBuffer transitionBuffer;
+    private final JobStatistics jobStatistics;
+    private final JobTracing jobTracing;
+    private final JobAdmission jobAdmission;
+    private final PendingJobIndexSnapshot indexSnapshot;
+    private final Map<String, JobHandler> handlers;
+    private final Map<String, BatchJobHandler> batchHandlers;
+    private final int workerCount;
+    private final ExecutorService workers;
+    private final AtomicInteger busyWorkers = new AtomicInteger();
+    private final Object dispatchLock = new Object();
+    private final Set<Long> inFlight = ConcurrentHashMap.newKeySet();
+    private final Map<Long, String> abandoned = new ConcurrentHashMap<>();
+    private final PendingJobIndex index;
+    private final Set<String> indexedTypes;
+    private final Duration changeLookback;
+    private final long changeLookbackIntervalNanos;
+    private final int indexPageSize;
+    // The last change read: its updatedAt and, among changes at the same time, its id
+    private LocalDateTime changeWatermark;
+    private long changeWatermarkId;
+    // The change watermark when the changes were last read again, and when that was
+    private LocalDateTime lookBackMark;
+    private long lookBackNanos;
+    private Set<Integer> indexedPartitions = Set.of();
+    private volatile boolean paused;
+    private volatile boolean stopping;
+
+    public JobDispatcher(JobRepository jobRepository, PartitionService partitionService,
+            TransitionBuffer transitionBuffer, JobStatistics jobStatistics, JobTracing jobTracing,
+            JobAdmission jobAdmission, PendingJobIndexSnapshot indexSnapshot, ObjectProvider<JobHandler> handlers,
+            ObjectProvider<BatchJobHandler> batchHandlers, @Value("${job.dispatcher.workers:4}") int workerCount,
+            @Value("${job.dispatcher.index.enabled:true}") boolean indexEnabled,
+            @Value("${job.dispatcher.index.change-lookback-ms:10000}") long changeLookbackMs,
+            @Value("${job.dispatcher.index.change-lookback-interval-ms:10000}") long changeLookbackIntervalMs,
+            @Value("${job.dispatcher.index.page-size:10000}") int indexPageSize) {
+        this.jobRepository = jobRepository;
+        this.partitionService = partitionService;
+        this.transitionBuffer = transitionBuffer;
+        this.jobStatistics = jobStatistics;
+        this.jobTracing = jobTracing;
+        this.jobAdmission = jobAdmission;
+        this.indexSnapshot = indexSnapshot;
+        this.handlers = handlers.orderedStream()
+                .collect(Collectors.toMap(JobHandler::getType, Function.identity()));
+        this.batchHandlers = batchHandlers.orderedStream()
+                .collect(Collectors.toMap(BatchJobHandler::getType, Function.identity()));
+        for (String type : this.batchHandlers.keySet()) {
+            if (this.handlers.containsKey(type)) {
+                throw new IllegalStateException("Job type " + type + " has both a JobHandler and a BatchJobHandler");
+            }
+        }
+        this.workerCount = workerCount;
+        this.workers = Executors.newFixedThreadPool(workerCount);
+        this.index = indexEnabled ? new PendingJobIndex() : null;
+        Set<String> types = new HashSet<>(this.handlers.keySet());
+        types.addAll(this.batchHandlers.keySet());
+        this.indexedTypes = Set.copyOf(types);
+        this.changeLookback = Duration.ofMillis(changeLookbackMs);
+        this.changeLookbackIntervalNanos = changeLookbackIntervalMs * 1_000_000;
+        this.indexPageSize = indexPageSize;
+    }
+
+    @Scheduled(fixedDelayString = "${job.dispatcher.poll-interval-ms:1000}")
+    public void dispatch() {
+        synchronized (dispatchLock) {
+            int capacity = workerCount - busyWorkers.get();
+            Set<Integer> partitions = partitionService.getOwnedPartitions();
+            if (paused || capacity <= 0 || (handlers.isEmpty() && batchHandlers.isEmpty()) || partitions.isEmpty()) {
+                return;
+            }
+            jobTracing.observeDispatch(() -> claim(partitions, capacity));
+        }
+    }
+
+    private void claim(Set<Integer> partitions, int capacity) {
+        if (index != null) {
+            refreshIndex(partitions);
+        }
+        if (!handlers.isEmpty()) {
+            for (Long id : claim(handlers.keySet(), partitions, capacity)) {
+                busyWorkers.incrementAndGet();
+                capacity--;
+                submit(() -> execute(id));
+            }
+        }
+        for (BatchJobHandler handler : batchHandlers.values()) {
+            if (capacity <= 0) {
+                return;
+            }
+            List<Long> batch = claim(Set.of(handler.getType()), partitions, handler.getMaxBatchSize());
+            if (!batch.isEmpty()) {
+                busyWorkers.incrementAndGet();
+                capacity--;
+                submit(() -> executeBatch(handler, partitions, batch));
+            }
+        }
+    }
+
+    private void submit(Runnable task) {
+        try {
+            workers.execute(jobTracing.inCurrentTrace(task));
+        } catch (RejectedExecutionException e) {
+            // The workers were stopped while this pass was claiming: the task abandons its jobs, like one never started
+            stopping = true;
+            task.run();
+        }
+    }
+
+    private List<Long> claim(Set<String> types, Set<Integer> partitions, int limit) {
+        List<Long> claimed = new ArrayList<>();
+        if (index != null) {
+            long[] candidates = new long[limit];
+            int count = index.poll(types, toEpochMillis(LocalDateTime.now()), candidates);
+            for (int i = 0; i < count; i++) {
+                claim(candidates[i], claimed);
+            }
+            return claimed;
+        }
+        List<Long> candidates = jobRepository.findDispatchableIds(JobState.QUEUED, types, partitions,
+                partitionService.getPartitionCount(), LocalDateTime.now(), PageRequest.of(0, limit));
+        for (Long id : candidates) {
+            claim(id, claimed);
+        }
+        return claimed;
+    }
+
+    private void claim(Long id, List<Long> claimed) {
+        if (jobRepository.transition(id, JobState.QUEUED, JobState.RUNNING) == 1) {
+            inFlight.add(id);
+            claimed.add(id);
+        }
+    }
+
+    // Loads the partitions this node just took over, then applies the jobs changed since the last call
+    private synchronized void refreshIndex(Set<Integer> partitions) {
+        if (!partitions.equals(indexedPartitions)) {
+            repartitionIndex(partitions);
+        }
+        if (lookBackMark != null && System.nanoTime() - lookBackNanos < changeLookbackIntervalNanos) {
+            followChanges();
+            return;
+        }
+        // Changes that committed after the previous reread, behind changes stamped later, are read now
+        LocalDateTime mark = changeWatermark;
+        readChanges((lookBackMark == null ? mark : lookBackMark).minus(changeLookback), 0);
+        lookBackMark = mark;
+        lookBackNanos = System.nanoTime();
+    }
+
+    // Applies the jobs changed past the watermark to the partitions already indexed
+    private synchronized void followChanges() {
+        readChanges(changeWatermark, changeWatermarkId);
+    }
+
+    private void readChanges(LocalDateTime since, long afterId) {
+        List<JobChangeDto> page;
+        do {
+            page = jobRepository.findChangesSince(indexedTypes, indexedPartitions,
+                    partitionService.getPartitionCount(), since, afterId, PageRequest.of(0, indexPageSize));
+            for (JobChangeDto job : page) {
+                if (job.getState() == JobState.QUEUED) {
+                    addToIndex(job);
+                } else {
+                    index.remove(job.getId());
+                }
+                since = job.getUpdatedAt();
+                afterId = job.getId();
+            }
+        } while (page.size() == indexPageSize);
+        if (since.isAfter(changeWatermark) || (since.isEqual(changeWatermark) && afterId > changeWatermarkId)) {
+            changeWatermark = since;
+            changeWatermarkId = afterId;
+        }
+    }
+
+    private void repartitionIndex(Set<Integer> partitions) {
+        Set<Integer> gained = new HashSet<>(partitions);
+        if (changeWatermark == null) {
+            gained.removeAll(restoreIndexSnapshot(partitions));
+        } else {
+            gained.removeAll(indexedPartitions);
+            int dropped = index.removeIf(id -> !partitions.contains(partitionService.partitionOf(id)));
+            log.debug("Dropped {} pending jobs of partitions no longer owned", dropped);
+        }
+        if (!gained.isEmpty()) {
+            loadPartitions(gained);
+        }
+        indexedPartitions = partitions;
+    }
+
+    // Loads every queued job of the partitions; what changes meanwhile is read as a change afterwards
+    private void loadPartitions(Set<Integer> partitions) {
+        if (changeWatermark == null) {
+            changeWatermark = jobRepository.findLastUpdatedAt().orElse(NO_CHANGES);
+        }
+        long afterId = 0;
+        List<JobSummaryDto> page;
+        do {
+            page = jobRepository.findSummariesAfter(JobState.QUEUED, indexedTypes, partitions,
+                    partitionService.getPartitionCount(), afterId, PageRequest.of(0, indexPageSize));
+            for (JobSummaryDto job : page) {
+                addToIndex(job);
+                afterId = job.getId();
+            }
+        } while (page.size() == indexPageSize);
+    }
+
+    // Starts from the snapshot, whose changes since are then read like any others
+    private Set<Integer> restoreIndexSnapshot(Set<Integer> partitions) {
+        if (!indexSnapshot.isEnabled()) {
+            return Set.of();
+        }
+        PendingJobIndexSnapshot.Restored restored = indexSnapshot.restore(index, partitionService.getPartitionCount(),
+                partitions, indexedTypes);
+        if (restored == null) {
+            return Set.of();
+        }
+        changeWatermark = restored.getWatermark();
+        log.info("Restored {} pending jobs of partitions {} from the index snapshot taken at {}",
+                restored.getJobCount(), restored.getPartitions(), restored.getTakenAt());
+        return restored.getPartitions();
+    }
+
+    private void addToIndex(JobSummaryDto job) {
+        index.add(job.getId(), job.getType(), job.getPriority(), job.getScheduledTime() == null
+                ? PendingJobIndex.UNSCHEDULED : toEpochMillis(job.getScheduledTime()));
+    }
+
+    /**
+     * Saves the index to the snapshot file, if one is configured.
+     */
+    @Scheduled(fixedDelayString = "${job.dispatcher.index.snapshot-interval-ms:60000}",
+            initialDelayString = "${job.dispatcher.index.snapshot-interval-ms:60000}")
+    public synchronized void writeIndexSnapshot() {
+        if (index == null || !indexSnapshot.isEnabled() || indexedPartitions.isEmpty()) {
+            return;
+        }
+        try {
+            indexSnapshot.write(index, changeWatermark, LocalDateTime.now(), partitionService.getPartitionCount(),
+                    indexedPartitions, indexedTypes);
+        } catch (IOException e) {
+            log.warn("Could not write the index snapshot", e);
+        }
+    }
+
+    private static long toEpochMillis(LocalDateTime time) {
+        return time.toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+
+    void execute(Long id) {
+        LocalDateTime claimedAt = LocalDateTime.now();
+        try {
+            Job job = jobRepository.findById(id).orElse(null);
+            if (job == null) {
+                return;
+            }
+            jobStatistics.onTransition(job.getType(), JobState.QUEUED, JobState.RUNNING);
+            if (stopping) {
+                abandoned.put(id, job.getType());
+                return;
+            }
+            jobAdmission.onDispatched(job, claimedAt);
+            JobState outcome = JobState.SUCCESS;
+            Throwable threw = null;
+            Span span = jobTracing.startExecution(job);
+            try (Tracer.SpanInScope scope = jobTracing.withSpan(span)) {
+                handlers.get(job.getType()).execute(job);
+            } catch (Throwable e) {
+                if (stopping) {
+                    // Interrupted by stopWorkers: the job is requeued, not failed
+                    log.info("Job {} of type {} abandoned on shutdown", id, job.getType());
+                    abandoned.put(id, job.getType());
+                    rethrowIfError(e);
+                    return;
+                }
+                log.warn("Job {} of type {} failed", id, job.getType(), e);
+                span.error(e);
+                outcome = JobState.FAILED;
+                threw = e;
+            } finally {
+                span.end();
+            }
+            transitionBuffer.submit(id, job.getType(), JobState.RUNNING, outcome);
+            rethrowIfError(threw);
+        } finally {
+            inFlight.remove(id);
+            busyWorkers.decrementAndGet();
+        }
+    }
+
+    void executeBatch(BatchJobHandler handler, Set<Integer> partitions, List<Long> claimed) {
+        List<Long> ids = new ArrayList<>(claimed);
+        try {
+            linger(handler, partitions, ids);
+            LocalDateTime claimedAt = LocalDateTime.now();
+            List<Job> jobs = jobRepository.findAllById(ids);
+            if (jobs.isEmpty()) {
+                return;
+            }
+            for (Job job : jobs) {
+                jobStatistics.onTransition(job.getType(), JobState.QUEUED, JobState.RUNNING);
+            }
+            if (stopping) {
+                jobs.forEach(job -> abandoned.put(job.getId(), job.getType()));
+                return;
+            }
+            for (Job job : jobs) {
+                jobAdmission.onDispatched(job, claimedAt);
+            }
+            Set<Long> failed = Set.of();
+            Throwable threw = null;
+            Span span = jobTracing.startBatchExecution(handler.getType(), jobs);
+            try (Tracer.SpanInScope scope = jobTracing.withSpan(span)) {
+                Set<Long> reported = handler.execute(jobs);
+                if (reported != null) {
+                    failed = reported;
+                }
+            } catch (Throwable e) {
+                if (stopping) {
+                    log.info("Batch of {} jobs of type {} abandoned on shutdown", jobs.size(), handler.getType());
+                    jobs.forEach(job -> abandoned.put(job.getId(), job.getType()));
+                    rethrowIfError(e);
+                    return;
+                }
+                log.warn("Batch of {} jobs of type {} failed", jobs.size(), handler.getType(), e);
+                span.error(e);
+                threw = e;
+            } finally {
+                span.end();
+            }
+            Map<Long, JobState> outcomes = new HashMap<>();
+            for (Job job : jobs) {
+                boolean jobFailed = threw != null || failed.contains(job.getId());
+                outcomes.put(job.getId(), jobFailed ? JobState.FAILED : JobState.SUCCESS);
+            }
+            transitionBuffer.submitBatch(handler.getType(), JobState.RUNNING, outcomes);
+            rethrowIfError(threw);
+        } finally {
+            inFlight.removeAll(ids);
+            busyWorkers.decrementAndGet();
+        }
+    }
+
+    // An Error is recorded like any failure first, so its jobs do not stay RUNNING
+    private static void rethrowIfError(Throwable e) {
+        if (e instanceof Error error) {
+            throw error;
+        }
+    }
+
+    // Tops up a batch that is not full with jobs that become due within the linger time
+    private void linger(BatchJobHandler handler, Set<Integer> partitions, List<Long> ids) {
+        long deadline = System.nanoTime() + handler.getMaxLingerMs() * 1_000_000;
+        while (ids.size() < handler.getMaxBatchSize() && !paused) {
+            long remainingMs = (deadline - System.nanoTime()) / 1_000_000;
+            if (remainingMs <= 0) {
+                return;
+            }
+            try {
+                Thread.sleep(Math.min(remainingMs, LINGER_POLL_MS));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (index != null) {
+                followChanges();
+            }
+            ids.addAll(claim(Set.of(handler.getType()), partitions, handler.getMaxBatchSize() - ids.size()));
+        }
+    }
+
+    public int getIndexedCount() {
+        return index == null ? 0 : index.size();
+    }
+
+    public Set<Long> getInFlight() {
+        return inFlight;
+    }
+
+    /**
+     * Stops claiming new jobs, after waiting for a dispatch pass that is claiming right
+     * now; jobs already claimed keep running.
+     */
+    public void pause() {
+        synchronized (dispatchLock) {
+            paused = true;
+        }
+    }
+
+    /**
+     * @return true if every claimed job finished within the timeout
+     */
+    public boolean awaitIdle(long timeoutMs) throws InterruptedException {
+        long deadline = System.nanoTime() + timeoutMs * 1_000_000;
+        while (!inFlight.isEmpty()) {
+            if (System.nanoTime() - deadline >= 0) {
+                return false;
+            }
+            Thread.sleep(50);
+        }
+        return true;
+    }
+
+    /**
+     * Jobs whose handler was interrupted by {@link #stopWorkers}, or that were claimed
+     * but never started; they are still {@code RUNNING} and nothing will write their
+     * outcome, so they can be requeued safely.
+     */
+    public Map<Long, String> getAbandoned() {
+        return abandoned;
+    }
+
+    /**
+     * Interrupts the handlers that are still running and waits for them to return.
+     * Claimed jobs that had not started yet are abandoned on the calling thread.
+     *
+     * @return true if no handler is still running
+     */
+    public boolean stopWorkers(long timeoutMs) throws InterruptedException {
+        stopping = true;
+        for (Runnable notStarted : workers.shutdownNow()) {
+            notStarted.run();
+        }
+        return workers.awaitTermination(timeoutMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workers.shutdown();
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.job_management.service;
+
+import com.example.job_management.model.Job;
+
+/**
+ * Executes jobs of a single type. Handlers are discovered as Spring beans; the
+ * dispatcher only claims jobs whose type has a registered handler.
+ */
+public interface JobHandler {
+
+    String getType();
+
+    void execute(Job job) throws Exception;
+}
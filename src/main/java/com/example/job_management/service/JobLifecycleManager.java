@@ -0,0 +1,92 @@
+package com.example.job_management.service;
+
+import com.example.job_management.Common.JobState;
+import com.example.job_management.repository.JobRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * Drains the dispatcher when the application shuts down: no new jobs are claimed,
+ * running jobs get a grace period to finish, then the remaining handlers are
+ * interrupted and pending transitions are written. The jobs whose handler gave up are
+ * put back to {@code QUEUED} in one statement so another node can pick them up; a
+ * handler that ignores the interrupt keeps its job {@code RUNNING}, since requeueing
+ * it would let its late outcome overwrite another node's run. Finally the
+ * dispatcher's index is saved for the next start. Runs in the first shutdown phase,
+ * before the web server and the datasource go away.
+ */
+@Component
+public class JobLifecycleManager implements SmartLifecycle {
+    private static final Logger log = LoggerFactory.getLogger(JobLifecycleManager.class);
+
+    private final JobDispatcher jobDispatcher;
+    private final TransitionBuffer transitionBuffer;
+    private final JobRepository jobRepository;
+    private final JobStatistics jobStatistics;
+    private final long gracePeriodMs;
+    private final long interruptTimeoutMs;
+
+    private volatile boolean running;
+
+    public JobLifecycleManager(JobDispatcher jobDispatcher, TransitionBuffer transitionBuffer,
+            JobRepository jobRepository, JobStatistics jobStatistics,
+            @Value("${job.shutdown.grace-period-ms:30000}") long gracePeriodMs,
+            @Value("${job.shutdown.interrupt-timeout-ms:5000}") long interruptTimeoutMs) {
+        this.jobDispatcher = jobDispatcher;
+        this.transitionBuffer = transitionBuffer;
+        this.jobRepository = jobRepository;
+        this.jobStatistics = jobStatistics;
+        this.gracePeriodMs = gracePeriodMs;
+        this.interruptTimeoutMs = interruptTimeoutMs;
+    }
+
+    @Override
+    public void start() {
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        jobDispatcher.pause();
+        try {
+            if (!jobDispatcher.awaitIdle(gracePeriodMs)) {
+                log.warn("{} jobs still running after the {} ms grace period", jobDispatcher.getInFlight().size(),
+                        gracePeriodMs);
+            }
+            if (!jobDispatcher.stopWorkers(interruptTimeoutMs)) {
+                log.warn("{} jobs ignored the interrupt and stay RUNNING", jobDispatcher.getInFlight().size());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        transitionBuffer.flush();
+        requeue(Map.copyOf(jobDispatcher.getAbandoned()));
+        jobDispatcher.writeIndexSnapshot();
+    }
+
+    private void requeue(Map<Long, String> abandoned) {
+        if (abandoned.isEmpty()) {
+            return;
+        }
+        int requeued = jobRepository.requeueAll(abandoned.keySet(), JobState.RUNNING, JobState.QUEUED,
+                LocalDateTime.now());
+        if (requeued == abandoned.size()) {
+            abandoned.values().forEach(type -> jobStatistics.onTransition(type, JobState.RUNNING, JobState.QUEUED));
+        } else {
+            jobStatistics.markStale();
+        }
+        log.info("Requeued {} unfinished jobs", requeued);
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+}
@@ -2,49 +2,63 @@ package com.example.job_management.service;
 
 import com.example.job_management.Common.JobState;
 import com.example.job_management.dto.JobDto;
+import com.example.job_management.dto.JobStatsDto;
+import com.example.job_management.dto.JobSummaryDto;
+import com.example.job_management.dto.JobValidationErrorDto;
 import com.example.job_management.model.Job;
 import com.example.job_management.repository.JobRepository;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
 @Service
 public class JobService {
     private final JobRepository jobRepository;
+    private final JobStatistics jobStatistics;
+    private final JobValidationPipeline jobValidationPipeline;
+    private final JobTracing jobTracing;
+    private final JobAdmission jobAdmission;
 
-    public JobService(JobRepository jobRepository) {
+    public JobService(JobRepository jobRepository, JobStatistics jobStatistics,
+            JobValidationPipeline jobValidationPipeline, JobTracing jobTracing, JobAdmission jobAdmission) {
         this.jobRepository = jobRepository;
+        this.jobStatistics = jobStatistics;
+        this.jobValidationPipeline = jobValidationPipeline;
+        this.jobTracing = jobTracing;
+        this.jobAdmission = jobAdmission;
     }
 
     public String validateJob(JobDto job) {
-        if (job.getType() == null || job.getType().length() == 0) {
-            return "Invalid job type";
-        }
-        if (job.getPriority() < 0) {
-            return "Invalid job priority";
-        }
-        if (job.getScheduledTime() != null && job.getScheduledTime().isBefore(java.time.LocalDateTime.now())) {
-            return "Scheduled time cannot be in the past";
-        }
-        return null;
+        return jobValidationPipeline.validate(job, LocalDateTime.now());
     }
 
-    public String validateJobs(List<JobDto> jobs) {
-        for (JobDto job : jobs) {
-            String error = validateJob(job);
-            if (error != null) {
-                return "Job " + job.getType() + " : " + error;
-            }
-        }
-        return null;
+    public List<JobValidationErrorDto> validateJobs(List<JobDto> jobs) {
+        return jobValidationPipeline.validateAll(jobs, LocalDateTime.now());
+    }
+
+    public String admitJob(JobDto job) {
+        return jobAdmission.admit(job);
+    }
+
+    public String admitJobs(List<JobDto> jobs) {
+        return jobAdmission.admit(jobs);
+    }
+
+    public long getRetryAfterSeconds() {
+        return jobAdmission.getRetryAfterSeconds();
     }
 
     public void retryJob(Long id) {
         Job job = jobRepository.findById(id).orElse(null);
         if (job != null) {
+            JobState previous = job.getState();
             job.setState(JobState.QUEUED);
+            job.setQueuedAt(LocalDateTime.now());
+            job.setTraceParent(jobTracing.currentTraceParent());
             jobRepository.save(job);
+            jobStatistics.onTransition(job.getType(), previous, JobState.QUEUED);
         }
     }
 
@@ -56,11 +70,19 @@ public class JobService {
         } else {
             job.setState(JobState.QUEUED);
         }
-        return jobRepository.save(job);
+        if (job.getState() == JobState.QUEUED) {
+            job.setQueuedAt(LocalDateTime.now());
+        }
+        job.setTraceParent(jobTracing.currentTraceParent());
+        Job saved = jobRepository.save(job);
+        jobStatistics.onCreated(saved);
+        return saved;
     }
 
     public List<Job> createJobs(List<JobDto> jobs) {
         List<Job> jobList = new ArrayList<>();
+        String traceParent = jobTracing.currentTraceParent();
+        LocalDateTime now = LocalDateTime.now();
         for (JobDto jobdto : jobs) {
             Job job = new Job(jobdto);
             if (job.getScheduledTime() == null) {
@@ -69,21 +91,39 @@ public class JobService {
             } else {
                 job.setState(JobState.QUEUED);
             }
+            if (job.getState() == JobState.QUEUED) {
+                job.setQueuedAt(now);
+            }
+            job.setTraceParent(traceParent);
             jobList.add(job);
         }
-        return jobRepository.saveAll(jobList);
+        List<Job> saved = jobRepository.saveAll(jobList);
+        saved.forEach(jobStatistics::onCreated);
+        return saved;
     }
 
-    public List<Job> getAllJobs() {
-        return jobRepository.findAll();
+    public List<JobSummaryDto> getAllJobs() {
+        return jobRepository.findAllSummaries();
     }
 
     public Job getJobById(Long id) {
         return jobRepository.findById(id).orElse(null);
     }
 
-    public void deleteJob(Long id) {
-        jobRepository.deleteById(id);
+    public JobState getJobState(Long id) {
+        return jobRepository.findStateById(id).orElse(null);
+    }
+
+    /**
+     * Deletes a job the caller has already loaded, without reading it again.
+     */
+    public void deleteJob(Job job) {
+        jobRepository.deleteById(job.getId());
+        jobStatistics.onDeleted(job);
+    }
+
+    public JobStatsDto getStats() {
+        return jobStatistics.snapshot();
     }
 
     public Boolean isJobRunning(Long id) {
@@ -0,0 +1,144 @@
+package com.example.job_management.service;
+
+import com.example.job_management.Common.JobState;
+import com.example.job_management.dto.JobCountDto;
+import com.example.job_management.dto.JobStatsDto;
+import com.example.job_management.model.Job;
+import com.example.job_management.repository.JobRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-memory job counts per state, type and priority, kept up to date by the code
+ * that creates, transitions and deletes jobs. Each node only sees its own changes,
+ * so the counters are periodically replaced by a {@code GROUP BY} over the table;
+ * updates that race with a reconciliation may be lost until the next one.
+ */
+@Service
+public class JobStatistics {
+    private static final JobState[] STATES = JobState.values();
+
+    private final JobRepository jobRepository;
+    private final long reconcileIntervalMs;
+
+    private volatile Counters counters = new Counters();
+    private volatile boolean stale = true;
+    private volatile long lastReconcileNanos;
+    private volatile LocalDateTime reconciledAt;
+
+    public JobStatistics(JobRepository jobRepository,
+            @Value("${job.stats.reconcile-interval-ms:60000}") long reconcileIntervalMs) {
+        this.jobRepository = jobRepository;
+        this.reconcileIntervalMs = reconcileIntervalMs;
+    }
+
+    public void onCreated(Job job) {
+        counters.add(job.getType(), job.getPriority(), job.getState(), 1);
+    }
+
+    public void onDeleted(Job job) {
+        counters.add(job.getType(), job.getPriority(), job.getState(), -1);
+    }
+
+    public void onTransition(String type, JobState from, JobState to) {
+        Counters current = counters;
+        current.move(type, from, -1);
+        current.move(type, to, 1);
+    }
+
+    /**
+     * Signals that the table was changed in a way the counters could not follow,
+     * e.g. a conditional update that matched fewer rows than expected.
+     */
+    public void markStale() {
+        stale = true;
+    }
+
+    public long getCount(JobState state) {
+        return counters.byState[state.ordinal()].sum();
+    }
+
+    public long getCount(String type, JobState state) {
+        LongAdder[] byState = counters.byType.get(key(type));
+        return byState == null ? 0 : byState[state.ordinal()].sum();
+    }
+
+    public JobStatsDto snapshot() {
+        Counters current = counters;
+        Map<JobState, Long> byState = new EnumMap<>(JobState.class);
+        long total = 0;
+        for (JobState state : STATES) {
+            long count = current.byState[state.ordinal()].sum();
+            byState.put(state, count);
+            total += count;
+        }
+        Map<String, Map<JobState, Long>> byType = new TreeMap<>();
+        current.byType.forEach((type, adders) -> {
+            Map<JobState, Long> counts = new EnumMap<>(JobState.class);
+            for (JobState state : STATES) {
+                counts.put(state, adders[state.ordinal()].sum());
+            }
+            byType.put(type, counts);
+        });
+        Map<Integer, Long> byPriority = new TreeMap<>();
+        current.byPriority.forEach((priority, adder) -> byPriority.put(priority, adder.sum()));
+        return new JobStatsDto(total, byState, byType, byPriority, reconciledAt);
+    }
+
+    @Scheduled(fixedDelayString = "${job.stats.check-interval-ms:1000}")
+    public void reconcileIfDue() {
+        if (stale || System.nanoTime() - lastReconcileNanos >= reconcileIntervalMs * 1_000_000) {
+            reconcile();
+        }
+    }
+
+    public void reconcile() {
+        stale = false;
+        lastReconcileNanos = System.nanoTime();
+        Counters fresh = new Counters();
+        for (JobCountDto row : jobRepository.countByStateTypeAndPriority()) {
+            fresh.add(row.getType(), row.getPriority(), row.getState(), row.getCount());
+        }
+        counters = fresh;
+        reconciledAt = LocalDateTime.now();
+    }
+
+    private static String key(String type) {
+        return type == null ? "" : type;
+    }
+
+    private static LongAdder[] newAdders() {
+        LongAdder[] adders = new LongAdder[STATES.length];
+        for (int i = 0; i < adders.length; i++) {
+            adders[i] = new LongAdder();
+        }
+        return adders;
+    }
+
+    private static class Counters {
+        private final LongAdder[] byState = newAdders();
+        private final ConcurrentHashMap<String, LongAdder[]> byType = new ConcurrentHashMap<>();
+        private final ConcurrentHashMap<Integer, LongAdder> byPriority = new ConcurrentHashMap<>();
+
+        void add(String type, int priority, JobState state, long delta) {
+            if (state == null) {
+                return;
+            }
+            move(type, state, delta);
+            byPriority.computeIfAbsent(priority, k -> new LongAdder()).add(delta);
+        }
+
+        void move(String type, JobState state, long delta) {
+            byState[state.ordinal()].add(delta);
+            byType.computeIfAbsent(key(type), k -> newAdders())[state.ordinal()].add(delta);
+        }
+    }
+}
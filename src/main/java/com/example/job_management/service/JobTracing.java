@@ -0,0 +1,125 @@
+package com.example.job_management.service;
+
+import com.example.job_management.model.Job;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import io.micrometer.tracing.Link;
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.TraceContext;
+import io.micrometer.tracing.Tracer;
+import org.springframework.stereotype.Component;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Tracing for the part of a job's life that happens outside the HTTP request that
+ * submitted it. The W3C {@code traceparent} of the submitting request is stored on the
+ * job; each dispatch poll is its own trace, and the execution span of every job it
+ * claims is a child of that poll with a link back to the submission.
+ */
+@Component
+public class JobTracing {
+    static final String DISPATCH = "job.dispatch";
+    static final String EXECUTION = "job.execution";
+    static final String BATCH_EXECUTION = "job.batch-execution";
+
+    private final Tracer tracer;
+    private final ObservationRegistry observationRegistry;
+
+    public JobTracing(Tracer tracer, ObservationRegistry observationRegistry) {
+        this.tracer = tracer;
+        this.observationRegistry = observationRegistry;
+    }
+
+    /**
+     * @return the current span as a W3C traceparent, or null outside a trace
+     */
+    public String currentTraceParent() {
+        Span span = tracer.currentSpan();
+        if (span == null || span.isNoop()) {
+            return null;
+        }
+        TraceContext context = span.context();
+        return "00-" + context.traceId() + "-" + context.spanId() + (Boolean.TRUE.equals(context.sampled()) ? "-01" : "-00");
+    }
+
+    public void observeDispatch(Runnable poll) {
+        Observation.createNotStarted(DISPATCH, observationRegistry).observe(poll);
+    }
+
+    /**
+     * Wraps a task so that it runs in the trace of the calling thread.
+     */
+    public Runnable inCurrentTrace(Runnable task) {
+        Span parent = tracer.currentSpan();
+        if (parent == null || parent.isNoop()) {
+            return task;
+        }
+        return () -> {
+            try (Tracer.SpanInScope scope = tracer.withSpan(parent)) {
+                task.run();
+            }
+        };
+    }
+
+    public Span startExecution(Job job) {
+        Span.Builder builder = tracer.spanBuilder()
+                .name(EXECUTION)
+                .tag("job.id", job.getId())
+                .tag("job.type", job.getType());
+        Span current = tracer.currentSpan();
+        if (current != null) {
+            builder.setParent(current.context());
+        }
+        TraceContext submission = parseTraceParent(job.getTraceParent());
+        if (submission != null) {
+            builder.addLink(new Link(submission));
+        }
+        return builder.start();
+    }
+
+    /**
+     * One span for a whole batch, linked to the submission of each job in it.
+     */
+    public Span startBatchExecution(String type, List<Job> jobs) {
+        Span.Builder builder = tracer.spanBuilder()
+                .name(BATCH_EXECUTION)
+                .tag("job.type", type)
+                .tag("job.count", jobs.size());
+        Span current = tracer.currentSpan();
+        if (current != null) {
+            builder.setParent(current.context());
+        }
+        Set<String> linked = new HashSet<>();
+        for (Job job : jobs) {
+            if (job.getTraceParent() != null && linked.add(job.getTraceParent())) {
+                TraceContext submission = parseTraceParent(job.getTraceParent());
+                if (submission != null) {
+                    builder.addLink(new Link(submission));
+                }
+            }
+        }
+        return builder.start();
+    }
+
+    public Tracer.SpanInScope withSpan(Span span) {
+        return tracer.withSpan(span);
+    }
+
+    private TraceContext parseTraceParent(String traceParent) {
+        if (traceParent == null) {
+            return null;
+        }
+        String[] parts = traceParent.split("-");
+        if (parts.length != 4) {
+            return null;
+        }
+        return tracer.traceContextBuilder()
+                .traceId(parts[1])
+                .spanId(parts[2])
+                .sampled("01".equals(parts[3]))
+                .build();
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.job_management.service;
+
+import com.example.job_management.dto.JobDto;
+import com.example.job_management.dto.JobValidationErrorDto;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Validates submitted jobs against the common rules and the {@link JobValidator}
+ * registered for their type. A batch is checked against a single clock reading and
+ * every invalid item is reported; large batches are split across the common
+ * fork-join pool.
+ */
+@Service
+public class JobValidationPipeline {
+    private final Map<String, JobValidator> validators;
+    private final int parallelThreshold;
+
+    public JobValidationPipeline(List<JobValidator> validators,
+            @Value("${job.validation.parallel-threshold:10000}") int parallelThreshold) {
+        this.validators = validators.stream()
+                .collect(Collectors.toMap(JobValidator::getType, Function.identity()));
+        this.parallelThreshold = parallelThreshold;
+    }
+
+    public String validate(JobDto job, LocalDateTime now) {
+        if (job == null) {
+            return "Invalid job";
+        }
+        if (job.getType() == null || job.getType().length() == 0) {
+            return "Invalid job type";
+        }
+        if (job.getPriority() < 0) {
+            return "Invalid job priority";
+        }
+        if (job.getScheduledTime() != null && job.getScheduledTime().isBefore(now)) {
+            return "Scheduled time cannot be in the past";
+        }
+        JobValidator validator = validators.get(job.getType());
+        return validator != null ? validator.validate(job, now) : null;
+    }
+
+    /**
+     * @return one error per invalid job, in index order; empty if all are valid
+     */
+    public List<JobValidationErrorDto> validateAll(List<JobDto> jobs, LocalDateTime now) {
+        IntStream indexes = IntStream.range(0, jobs.size());
+        if (jobs.size() >= parallelThreshold) {
+            indexes = indexes.parallel();
+        }
+        return indexes.mapToObj(index -> {
+            String error = validate(jobs.get(index), now);
+            return error != null ? new JobValidationErrorDto(index, error) : null;
+        }).filter(error -> error != null).toList();
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.job_management.service;
+
+import com.example.job_management.dto.JobDto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Extra validation for jobs of a single type, run after the checks that apply to
+ * every job. Validators are discovered as Spring beans and may be called from
+ * several threads at once.
+ */
+public interface JobValidator {
+
+    String getType();
+
+    /**
+     * @param now the clock reading shared by every job of the request
+     * @return an error message, or null if the job is valid
+     */
+    String validate(JobDto job, LocalDateTime now);
+}
@@ -0,0 +1,96 @@
+package com.example.job_management.service;
+
+import com.example.job_management.model.LeaderLease;
+import com.example.job_management.repository.LeaderLeaseRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Elects a single leader among the nodes sharing the database through a lease row.
+ * Every change of ownership increments the lease's fencing token, so work started
+ * by a leader that has since lost the lease can be rejected by the database.
+ * Lease expiry is compared against the nodes' wall clocks, which therefore have to
+ * agree to well within the lease duration.
+ */
+@Service
+public class LeaderElectionService {
+    public static final String MAINTENANCE_LEASE = "maintenance";
+
+    private static final Logger log = LoggerFactory.getLogger(LeaderElectionService.class);
+
+    private final LeaderLeaseRepository leaseRepository;
+    private final String nodeId;
+    private final long leaseDurationMs;
+
+    private volatile long fencingToken;
+    private volatile long leaseDeadlineNanos;
+
+    public LeaderElectionService(LeaderLeaseRepository leaseRepository, PartitionService partitionService,
+            @Value("${job.leader.lease-duration-ms:10000}") long leaseDurationMs) {
+        this.leaseRepository = leaseRepository;
+        this.nodeId = partitionService.getNodeId();
+        this.leaseDurationMs = leaseDurationMs;
+    }
+
+    @Scheduled(fixedDelayString = "${job.leader.renew-interval-ms:3000}")
+    public void elect() {
+        long started = System.nanoTime();
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime expiresAt = now.plus(Duration.ofMillis(leaseDurationMs));
+
+        long token = fencingToken;
+        if (token != 0) {
+            if (leaseRepository.renew(MAINTENANCE_LEASE, nodeId, token, expiresAt) == 1) {
+                leaseDeadlineNanos = started + leaseDurationMs * 1_000_000;
+                return;
+            }
+            log.warn("Node {} lost the {} lease (token {})", nodeId, MAINTENANCE_LEASE, token);
+            fencingToken = 0;
+        }
+
+        if (!leaseRepository.existsById(MAINTENANCE_LEASE)) {
+            try {
+                leaseRepository.saveAndFlush(new LeaderLease(MAINTENANCE_LEASE, now.minusSeconds(1)));
+            } catch (DataIntegrityViolationException e) {
+                // Another node created the row first
+            }
+        }
+        if (leaseRepository.acquire(MAINTENANCE_LEASE, nodeId, now, expiresAt) == 1) {
+            leaseDeadlineNanos = started + leaseDurationMs * 1_000_000;
+            fencingToken = leaseRepository.findById(MAINTENANCE_LEASE).map(LeaderLease::getToken).orElse(0L);
+            log.info("Node {} became leader (token {})", nodeId, fencingToken);
+        }
+    }
+
+    public boolean isLeader() {
+        // Step down locally once the lease could have expired, even if the renewal is only late
+        return fencingToken != 0 && System.nanoTime() - leaseDeadlineNanos < 0;
+    }
+
+    public long getFencingToken() {
+        return fencingToken;
+    }
+
+    @PreDestroy
+    public void release() {
+        long token = fencingToken;
+        fencingToken = 0;
+        if (token == 0) {
+            return;
+        }
+        try {
+            // Expire the lease right away so another node can take over without waiting for it to lapse
+            leaseRepository.renew(MAINTENANCE_LEASE, nodeId, token, LocalDateTime.now().minusSeconds(1));
+        } catch (RuntimeException e) {
+            log.warn("Could not release the {} lease", MAINTENANCE_LEASE, e);
+        }
+    }
+}
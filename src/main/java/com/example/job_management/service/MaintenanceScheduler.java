@@ -0,0 +1,51 @@
+package com.example.job_management.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Runs the registered {@link MaintenanceTask}s at their own intervals, on the
+ * leader only.
+ */
+@Service
+public class MaintenanceScheduler {
+    private static final Logger log = LoggerFactory.getLogger(MaintenanceScheduler.class);
+
+    private final LeaderElectionService leaderElection;
+    private final List<MaintenanceTask> tasks;
+    private final Map<String, Long> nextRunNanos = new HashMap<>();
+
+    public MaintenanceScheduler(LeaderElectionService leaderElection, ObjectProvider<MaintenanceTask> tasks) {
+        this.leaderElection = leaderElection;
+        this.tasks = tasks.orderedStream().toList();
+    }
+
+    @Scheduled(fixedDelayString = "${job.maintenance.tick-ms:1000}")
+    public synchronized void runDueTasks() {
+        if (!leaderElection.isLeader()) {
+            // A node that becomes leader runs every task straight away
+            nextRunNanos.clear();
+            return;
+        }
+        for (MaintenanceTask task : tasks) {
+            long now = System.nanoTime();
+            Long next = nextRunNanos.get(task.getName());
+            if (next != null && now - next < 0) {
+                continue;
+            }
+            nextRunNanos.put(task.getName(), now + task.getIntervalMs() * 1_000_000);
+            try {
+                task.run(leaderElection.getFencingToken());
+            } catch (RuntimeException e) {
+                log.warn("Maintenance task {} failed", task.getName(), e);
+            }
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.job_management.service;
+
+/**
+ * Periodic housekeeping that must run on exactly one node of the cluster. Tasks are
+ * discovered as Spring beans and only invoked on the current leader, see
+ * {@link LeaderElectionService}.
+ */
+public interface MaintenanceTask {
+
+    String getName();
+
+    long getIntervalMs();
+
+    /**
+     * @param fencingToken token of the lease under which the task runs; writes that
+     *                     must not be applied by a deposed leader should be
+     *                     conditional on it still matching the lease row
+     */
+    void run(long fencingToken);
+}
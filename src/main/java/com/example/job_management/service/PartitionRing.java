@@ -0,0 +1,60 @@
+package com.example.job_management.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Consistent hash ring mapping job partitions to cluster nodes. Every node builds
+ * the ring from the same membership list, so all nodes agree on the owners
+ * without talking to each other, and a join or leave only moves the partitions
+ * adjacent to the affected node's virtual points.
+ */
+public class PartitionRing {
+    private final TreeMap<Long, String> ring = new TreeMap<>();
+
+    public PartitionRing(Collection<String> nodeIds, int virtualNodes) {
+        for (String nodeId : nodeIds) {
+            for (int i = 0; i < virtualNodes; i++) {
+                // Resolve (astronomically rare) point collisions the same way on every node
+                ring.merge(hash(nodeId + "#" + i), nodeId, (a, b) -> a.compareTo(b) <= 0 ? a : b);
+            }
+        }
+    }
+
+    public String ownerOf(int partition) {
+        if (ring.isEmpty()) {
+            return null;
+        }
+        Map.Entry<Long, String> entry = ring.ceilingEntry(hash("partition-" + partition));
+        return entry != null ? entry.getValue() : ring.firstEntry().getValue();
+    }
+
+    public Set<Integer> partitionsOf(String nodeId, int partitionCount) {
+        Set<Integer> partitions = new HashSet<>();
+        for (int partition = 0; partition < partitionCount; partition++) {
+            if (nodeId.equals(ownerOf(partition))) {
+                partitions.add(partition);
+            }
+        }
+        return partitions;
+    }
+
+    static long hash(String key) {
+        // FNV-1a followed by the murmur3 finalizer to spread short, similar keys
+        long h = 0xcbf29ce484222325L;
+        for (byte b : key.getBytes(StandardCharsets.UTF_8)) {
+            h ^= b;
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -0,0 +1,113 @@
+package com.example.job_management.service;
+
+import com.example.job_management.model.JobNode;
+import com.example.job_management.repository.JobNodeRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Keeps this node's row in the membership table alive and derives the set of job
+ * partitions it owns from the nodes that are currently heartbeating. A job belongs
+ * to partition {@code id mod partitions}.
+ */
+@Service
+public class PartitionService {
+    private static final Logger log = LoggerFactory.getLogger(PartitionService.class);
+
+    private final JobNodeRepository nodeRepository;
+    private final String nodeId;
+    private final int partitionCount;
+    private final int virtualNodes;
+    private final long heartbeatTimeoutMs;
+
+    private volatile List<String> members = List.of();
+    private volatile Set<Integer> ownedPartitions = Set.of();
+
+    public PartitionService(JobNodeRepository nodeRepository,
+            @Value("${job.cluster.node-id:}") String nodeId,
+            @Value("${job.cluster.partitions:64}") int partitionCount,
+            @Value("${job.cluster.virtual-nodes:128}") int virtualNodes,
+            @Value("${job.cluster.heartbeat-timeout-ms:15000}") long heartbeatTimeoutMs) {
+        this.nodeRepository = nodeRepository;
+        this.nodeId = nodeId == null || nodeId.isBlank() ? UUID.randomUUID().toString() : nodeId;
+        this.partitionCount = partitionCount;
+        this.virtualNodes = virtualNodes;
+        this.heartbeatTimeoutMs = heartbeatTimeoutMs;
+    }
+
+    @Scheduled(fixedDelayString = "${job.cluster.heartbeat-interval-ms:5000}")
+    public void heartbeat() {
+        LocalDateTime now = LocalDateTime.now();
+        if (nodeRepository.heartbeat(nodeId, now) == 0) {
+            nodeRepository.save(new JobNode(nodeId, now));
+        }
+        rebalance(nodeRepository.findLiveNodeIds(now.minus(Duration.ofMillis(heartbeatTimeoutMs))));
+    }
+
+    void rebalance(List<String> liveNodes) {
+        List<String> sorted = new ArrayList<>(liveNodes);
+        if (!sorted.contains(nodeId)) {
+            sorted.add(nodeId);
+        }
+        Collections.sort(sorted);
+        if (sorted.equals(members)) {
+            return;
+        }
+        Set<Integer> partitions = new PartitionRing(sorted, virtualNodes).partitionsOf(nodeId, partitionCount);
+        members = List.copyOf(sorted);
+        ownedPartitions = Set.copyOf(partitions);
+        log.info("Node {} owns {}/{} partitions across {} live nodes", nodeId, partitions.size(), partitionCount,
+                sorted.size());
+    }
+
+    @PreDestroy
+    public void leave() {
+        ownedPartitions = Set.of();
+        try {
+            // Dropping our row lets the other nodes pick up our partitions without waiting for the timeout
+            nodeRepository.deleteById(nodeId);
+        } catch (RuntimeException e) {
+            log.warn("Could not remove node {} from the membership table", nodeId, e);
+        }
+    }
+
+    public int partitionOf(long jobId) {
+        return partitionOf(jobId, partitionCount);
+    }
+
+    /**
+     * The partition of a job; the queries in {@code JobRepository} filter on the same
+     * {@code mod(j.id, :partitionCount)}.
+     */
+    public static int partitionOf(long jobId, int partitionCount) {
+        return (int) Math.floorMod(jobId, (long) partitionCount);
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    public int getPartitionCount() {
+        return partitionCount;
+    }
+
+    public List<String> getMembers() {
+        return members;
+    }
+
+    public Set<Integer> getOwnedPartitions() {
+        return ownedPartitions;
+    }
+}
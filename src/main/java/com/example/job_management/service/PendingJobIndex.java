@@ -0,0 +1,398 @@
+package com.example.job_management.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.LongPredicate;
+
+/**
+ * Compact in-memory index of pending jobs for the dispatcher. Every job is one slot
+ * in a set of parallel primitive arrays (id, priority, epoch-millis schedule and an
+ * interned type id), so indexing a job keeps no entity, boxed id or date object alive;
+ * a job costs about 65 bytes of heap (see {@code PendingJobIndexBenchmark}).
+ *
+ * <p>Jobs that are not due yet wait in a heap ordered by schedule; once due they move
+ * to a per-type heap ordered like the dispatch query, by priority (highest first) and
+ * then id. Both heaps hold slot numbers and track each slot's position, so a job can be
+ * removed in {@code O(log n)}. All methods are synchronized.
+ */
+public class PendingJobIndex {
+    /** Schedule of a job that is due immediately. */
+    public static final long UNSCHEDULED = Long.MIN_VALUE;
+
+    private static final byte FREE = 0;
+    private static final byte DELAYED = 1;
+    private static final byte READY = 2;
+
+    private long[] ids;
+    private int[] priorities;
+    private long[] schedules;
+    private int[] typeIds;
+    private int[] heapPositions;
+    private byte[] locations;
+    private int[] freeSlots;
+    private int freeCount;
+    private int slotCount;
+    private int size;
+
+    private final SlotMap slotsById;
+    private final Heap delayed;
+    private final List<Heap> readyByType = new ArrayList<>();
+    private final Map<String, Integer> typeIdsByName = new HashMap<>();
+    private final List<String> typeNames = new ArrayList<>();
+
+    public PendingJobIndex() {
+        this(1024);
+    }
+
+    public PendingJobIndex(int initialCapacity) {
+        int capacity = Math.max(16, initialCapacity);
+        ids = new long[capacity];
+        priorities = new int[capacity];
+        schedules = new long[capacity];
+        typeIds = new int[capacity];
+        heapPositions = new int[capacity];
+        locations = new byte[capacity];
+        freeSlots = new int[16];
+        slotsById = new SlotMap(capacity);
+        delayed = new Heap(capacity, false);
+    }
+
+    /**
+     * Adds a job, or replaces the entry of a job that is already indexed.
+     */
+    public synchronized void add(long id, String type, int priority, long scheduleMillis) {
+        remove(id);
+        int slot = allocateSlot();
+        ids[slot] = id;
+        priorities[slot] = priority;
+        schedules[slot] = scheduleMillis;
+        typeIds[slot] = internType(type);
+        slotsById.put(id, slot);
+        if (scheduleMillis == UNSCHEDULED) {
+            locations[slot] = READY;
+            readyByType.get(typeIds[slot]).push(slot);
+        } else {
+            locations[slot] = DELAYED;
+            delayed.push(slot);
+        }
+        size++;
+    }
+
+    public synchronized boolean remove(long id) {
+        int slot = slotsById.remove(id);
+        if (slot < 0) {
+            return false;
+        }
+        heapOf(slot).remove(heapPositions[slot]);
+        freeSlot(slot);
+        return true;
+    }
+
+    /**
+     * Removes every job whose id matches the filter.
+     *
+     * @return the number of jobs removed
+     */
+    public synchronized int removeIf(LongPredicate filter) {
+        int removed = 0;
+        for (int slot = 0; slot < slotCount; slot++) {
+            if (locations[slot] != FREE && filter.test(ids[slot])) {
+                remove(ids[slot]);
+                removed++;
+            }
+        }
+        return removed;
+    }
+
+    /**
+     * Removes the best due jobs of the given types from the index, at most
+     * {@code out.length}, and writes their ids to {@code out} in dispatch order.
+     *
+     * @return the number of ids written
+     */
+    public synchronized int poll(Collection<String> types, long nowMillis, long[] out) {
+        promoteDue(nowMillis);
+        List<Heap> heaps = new ArrayList<>(types.size());
+        for (String type : types) {
+            Integer typeId = typeIdsByName.get(type);
+            if (typeId != null) {
+                heaps.add(readyByType.get(typeId));
+            }
+        }
+        int count = 0;
+        while (count < out.length) {
+            Heap best = null;
+            for (Heap heap : heaps) {
+                if (heap.size > 0 && (best == null || heap.before(heap.top(), best.top()))) {
+                    best = heap;
+                }
+            }
+            if (best == null) {
+                break;
+            }
+            int slot = best.remove(0);
+            out[count++] = ids[slot];
+            slotsById.remove(ids[slot]);
+            freeSlot(slot);
+        }
+        return count;
+    }
+
+    /**
+     * Visits every indexed job, in no particular order. Hold the index's monitor to
+     * combine this with {@link #size()} into one consistent view.
+     */
+    public synchronized void forEach(EntryVisitor visitor) {
+        for (int slot = 0; slot < slotCount; slot++) {
+            if (locations[slot] != FREE) {
+                visitor.visit(ids[slot], typeNames.get(typeIds[slot]), priorities[slot], schedules[slot]);
+            }
+        }
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    public synchronized void clear() {
+        Arrays.fill(locations, 0, slotCount, FREE);
+        slotCount = 0;
+        freeCount = 0;
+        size = 0;
+        slotsById.clear();
+        delayed.size = 0;
+        for (Heap heap : readyByType) {
+            heap.size = 0;
+        }
+    }
+
+    private void promoteDue(long nowMillis) {
+        while (delayed.size > 0 && schedules[delayed.top()] <= nowMillis) {
+            int slot = delayed.remove(0);
+            locations[slot] = READY;
+            readyByType.get(typeIds[slot]).push(slot);
+        }
+    }
+
+    private Heap heapOf(int slot) {
+        return locations[slot] == DELAYED ? delayed : readyByType.get(typeIds[slot]);
+    }
+
+    private int internType(String type) {
+        Integer typeId = typeIdsByName.get(type);
+        if (typeId == null) {
+            typeId = readyByType.size();
+            typeIdsByName.put(type, typeId);
+            typeNames.add(type);
+            readyByType.add(new Heap(16, true));
+        }
+        return typeId;
+    }
+
+    private int allocateSlot() {
+        if (freeCount > 0) {
+            return freeSlots[--freeCount];
+        }
+        if (slotCount == ids.length) {
+            int capacity = ids.length * 2;
+            ids = Arrays.copyOf(ids, capacity);
+            priorities = Arrays.copyOf(priorities, capacity);
+            schedules = Arrays.copyOf(schedules, capacity);
+            typeIds = Arrays.copyOf(typeIds, capacity);
+            heapPositions = Arrays.copyOf(heapPositions, capacity);
+            locations = Arrays.copyOf(locations, capacity);
+        }
+        return slotCount++;
+    }
+
+    private void freeSlot(int slot) {
+        locations[slot] = FREE;
+        if (freeCount == freeSlots.length) {
+            freeSlots = Arrays.copyOf(freeSlots, freeCount * 2);
+        }
+        freeSlots[freeCount++] = slot;
+        size--;
+    }
+
+    @FunctionalInterface
+    public interface EntryVisitor {
+        void visit(long id, String type, int priority, long scheduleMillis);
+    }
+
+    /**
+     * Binary heap of slots that records every slot's position in {@code heapPositions}.
+     */
+    private final class Heap {
+        private int[] slots;
+        private int size;
+        private final boolean byPriority;
+
+        Heap(int capacity, boolean byPriority) {
+            this.slots = new int[capacity];
+            this.byPriority = byPriority;
+        }
+
+        int top() {
+            return slots[0];
+        }
+
+        boolean before(int a, int b) {
+            if (byPriority) {
+                if (priorities[a] != priorities[b]) {
+                    return priorities[a] > priorities[b];
+                }
+            } else if (schedules[a] != schedules[b]) {
+                return schedules[a] < schedules[b];
+            }
+            return ids[a] < ids[b];
+        }
+
+        void push(int slot) {
+            if (size == slots.length) {
+                slots = Arrays.copyOf(slots, size * 2);
+            }
+            place(slot, size++);
+            siftUp(size - 1);
+        }
+
+        int remove(int position) {
+            int slot = slots[position];
+            int last = slots[--size];
+            if (position < size) {
+                place(last, position);
+                siftDown(position);
+                siftUp(heapPositions[last]);
+            }
+            return slot;
+        }
+
+        private void siftUp(int position) {
+            int slot = slots[position];
+            while (position > 0) {
+                int parent = (position - 1) >>> 1;
+                if (!before(slot, slots[parent])) {
+                    break;
+                }
+                place(slots[parent], position);
+                position = parent;
+            }
+            place(slot, position);
+        }
+
+        private void siftDown(int position) {
+            int slot = slots[position];
+            int half = size >>> 1;
+            while (position < half) {
+                int child = 2 * position + 1;
+                if (child + 1 < size && before(slots[child + 1], slots[child])) {
+                    child++;
+                }
+                if (!before(slots[child], slot)) {
+                    break;
+                }
+                place(slots[child], position);
+                position = child;
+            }
+            place(slot, position);
+        }
+
+        private void place(int slot, int position) {
+            slots[position] = slot;
+            heapPositions[slot] = position;
+        }
+    }
+
+    /**
+     * Open-addressing map from job id to slot with linear probing. Job ids are
+     * generated by the database and never 0, which marks an empty bucket.
+     */
+    private static final class SlotMap {
+        private long[] keys;
+        private int[] values;
+        private int mask;
+        private int size;
+
+        SlotMap(int expected) {
+            int capacity = Integer.highestOneBit(Math.max(16, expected * 2) - 1) << 1;
+            keys = new long[capacity];
+            values = new int[capacity];
+            mask = capacity - 1;
+        }
+
+        private int bucket(long key) {
+            long hash = key * 0x9E3779B97F4A7C15L;
+            return (int) (hash ^ (hash >>> 32)) & mask;
+        }
+
+        int get(long key) {
+            for (int i = bucket(key); keys[i] != 0; i = (i + 1) & mask) {
+                if (keys[i] == key) {
+                    return values[i];
+                }
+            }
+            return -1;
+        }
+
+        void put(long key, int value) {
+            if ((size + 1) * 2 > keys.length) {
+                grow();
+            }
+            int i = bucket(key);
+            while (keys[i] != 0 && keys[i] != key) {
+                i = (i + 1) & mask;
+            }
+            if (keys[i] == 0) {
+                size++;
+            }
+            keys[i] = key;
+            values[i] = value;
+        }
+
+        int remove(long key) {
+            int i = bucket(key);
+            while (keys[i] != key) {
+                if (keys[i] == 0) {
+                    return -1;
+                }
+                i = (i + 1) & mask;
+            }
+            int value = values[i];
+            // Backward-shift deletion keeps probe sequences intact without tombstones
+            int gap = i;
+            for (int j = (i + 1) & mask; keys[j] != 0; j = (j + 1) & mask) {
+                int home = bucket(keys[j]);
+                if (((j - home) & mask) >= ((j - gap) & mask)) {
+                    keys[gap] = keys[j];
+                    values[gap] = values[j];
+                    gap = j;
+                }
+            }
+            keys[gap] = 0;
+            size--;
+            return value;
+        }
+
+        void clear() {
+            Arrays.fill(keys, 0);
+            size = 0;
+        }
+
+        private void grow() {
+            long[] oldKeys = keys;
+            int[] oldValues = values;
+            keys = new long[oldKeys.length * 2];
+            values = new int[oldKeys.length * 2];
+            mask = keys.length - 1;
+            size = 0;
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldKeys[i] != 0) {
+                    put(oldKeys[i], oldValues[i]);
+                }
+            }
+        }
+    }
+}
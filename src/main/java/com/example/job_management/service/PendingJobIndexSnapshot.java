@@ -0,0 +1,211 @@
+package com.example.job_management.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Keeps a copy of the dispatcher's {@link PendingJobIndex} on local disk, so a restarted
+ * instance can start from it and only load what changed since, instead of reading every
+ * queued job. The snapshot is written through a memory-mapped buffer to a temporary file
+ * that then replaces the previous one, so a crash while writing leaves the old snapshot.
+ *
+ * <p>Layout, big-endian: magic, version, time taken and change watermark (epoch millis),
+ * partition count, indexed partitions, indexed types, then one 24-byte record per job
+ * with its id, type number, priority and schedule.
+ */
+@Component
+public class PendingJobIndexSnapshot {
+    private static final Logger log = LoggerFactory.getLogger(PendingJobIndexSnapshot.class);
+    private static final int MAGIC = 0x4A4F4249;
+    private static final int VERSION = 2;
+    private static final int ENTRY_BYTES = 2 * Long.BYTES + 2 * Integer.BYTES;
+
+    private final Path path;
+    private final Duration maxAge;
+
+    public PendingJobIndexSnapshot(@Value("${job.dispatcher.index.snapshot-path:}") String path,
+            @Value("${job.dispatcher.index.snapshot-max-age-ms:3600000}") long maxAgeMs) {
+        this.path = path.isBlank() ? null : Path.of(path);
+        this.maxAge = Duration.ofMillis(maxAgeMs);
+    }
+
+    public boolean isEnabled() {
+        return path != null;
+    }
+
+    /**
+     * @param watermark the time of the last change to the jobs that the index reflects
+     */
+    public void write(PendingJobIndex index, LocalDateTime watermark, LocalDateTime takenAt, int partitionCount,
+            Set<Integer> partitions, Set<String> types) throws IOException {
+        List<byte[]> typeNames = new ArrayList<>(types.size());
+        Map<String, Integer> typeNumbers = new HashMap<>();
+        int headerBytes = 2 * Integer.BYTES + 2 * Long.BYTES + Integer.BYTES
+                + Integer.BYTES * (1 + partitions.size()) + Integer.BYTES + Integer.BYTES;
+        for (String type : types) {
+            byte[] name = type.getBytes(StandardCharsets.UTF_8);
+            typeNumbers.put(type, typeNames.size());
+            typeNames.add(name);
+            headerBytes += Short.BYTES + name.length;
+        }
+        Path directory = path.toAbsolutePath().getParent();
+        if (directory != null) {
+            Files.createDirectories(directory);
+        }
+        Path temporary = path.resolveSibling(path.getFileName() + ".tmp");
+        int count;
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            MappedByteBuffer buffer;
+            // The size and the entries have to come from the same state of the index
+            synchronized (index) {
+                count = index.size();
+                buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, headerBytes + (long) count * ENTRY_BYTES);
+                buffer.putInt(MAGIC).putInt(VERSION);
+                buffer.putLong(toEpochMillis(takenAt)).putLong(toEpochMillis(watermark));
+                buffer.putInt(partitionCount).putInt(partitions.size());
+                for (int partition : partitions) {
+                    buffer.putInt(partition);
+                }
+                buffer.putInt(typeNames.size());
+                for (byte[] name : typeNames) {
+                    buffer.putShort((short) name.length).put(name);
+                }
+                buffer.putInt(count);
+                index.forEach((id, type, priority, scheduleMillis) -> buffer.putLong(id)
+                        .putInt(typeNumbers.get(type)).putInt(priority).putLong(scheduleMillis));
+            }
+            buffer.force();
+        }
+        Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        log.debug("Wrote {} pending jobs to the index snapshot {}", count, path);
+    }
+
+    /**
+     * Adds the jobs of the snapshot that belong to the given types and partitions to the
+     * index. Partitions the snapshot was not taken over are left out and reported as not
+     * restored. Nothing is added if there is no usable snapshot, if it is older than the
+     * maximum age, since following the changes since could take longer than loading the
+     * queued jobs, or if it was taken over fewer types, since the jobs of the others
+     * would be missing.
+     *
+     * @return the snapshot that was restored, or null
+     */
+    public Restored restore(PendingJobIndex index, int partitionCount, Set<Integer> partitions, Set<String> types) {
+        if (path == null || !Files.exists(path)) {
+            return null;
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+                log.warn("Ignoring {}, it is not an index snapshot of this version", path);
+                return null;
+            }
+            LocalDateTime takenAt = fromEpochMillis(buffer.getLong());
+            if (takenAt.isBefore(LocalDateTime.now().minus(maxAge))) {
+                log.info("Ignoring index snapshot {} taken at {}, it is older than {}", path, takenAt, maxAge);
+                return null;
+            }
+            LocalDateTime watermark = fromEpochMillis(buffer.getLong());
+            int snapshotPartitionCount = buffer.getInt();
+            Set<Integer> snapshotPartitions = new HashSet<>();
+            for (int i = buffer.getInt(); i > 0; i--) {
+                snapshotPartitions.add(buffer.getInt());
+            }
+            String[] typeNames = new String[buffer.getInt()];
+            for (int i = 0; i < typeNames.length; i++) {
+                byte[] name = new byte[buffer.getShort()];
+                buffer.get(name);
+                typeNames[i] = new String(name, StandardCharsets.UTF_8);
+            }
+            Set<Integer> covered = new HashSet<>(partitions);
+            covered.retainAll(snapshotPartitions);
+            if (snapshotPartitionCount != partitionCount || covered.isEmpty()
+                    || !new HashSet<>(Arrays.asList(typeNames)).containsAll(types)) {
+                log.info("Index snapshot {} does not cover partitions {} and types {}", path, partitions, types);
+                return null;
+            }
+            int count = buffer.getInt();
+            if (buffer.remaining() != (long) count * ENTRY_BYTES) {
+                log.warn("Ignoring truncated index snapshot {}", path);
+                return null;
+            }
+            int restored = 0;
+            for (int i = 0; i < count; i++) {
+                long id = buffer.getLong();
+                String type = typeNames[buffer.getInt()];
+                int priority = buffer.getInt();
+                long scheduleMillis = buffer.getLong();
+                if (types.contains(type) && covered.contains(PartitionService.partitionOf(id, partitionCount))) {
+                    index.add(id, type, priority, scheduleMillis);
+                    restored++;
+                }
+            }
+            return new Restored(watermark, takenAt, restored, covered);
+        } catch (IOException | RuntimeException e) {
+            log.warn("Could not read the index snapshot {}", path, e);
+            index.clear();
+            return null;
+        }
+    }
+
+    private static long toEpochMillis(LocalDateTime time) {
+        return time.toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+
+    private static LocalDateTime fromEpochMillis(long millis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(millis), ZoneOffset.UTC);
+    }
+
+    public static class Restored {
+        private final LocalDateTime watermark;
+        private final LocalDateTime takenAt;
+        private final int jobCount;
+        private final Set<Integer> partitions;
+
+        Restored(LocalDateTime watermark, LocalDateTime takenAt, int jobCount, Set<Integer> partitions) {
+            this.watermark = watermark;
+            this.takenAt = takenAt;
+            this.jobCount = jobCount;
+            this.partitions = Set.copyOf(partitions);
+        }
+
+        public LocalDateTime getWatermark() {
+            return watermark;
+        }
+
+        public LocalDateTime getTakenAt() {
+            return takenAt;
+        }
+
+        public int getJobCount() {
+            return jobCount;
+        }
+
+        public Set<Integer> getPartitions() {
+            return partitions;
+        }
+    }
+}
@@ -0,0 +1,221 @@
+package com.example.job_management.service;
+
+import com.example.job_management.Common.JobState;
+import com.example.job_management.Common.MisfirePolicy;
+import com.example.job_management.dto.RecurringJobDto;
+import com.example.job_management.model.Job;
+import com.example.job_management.model.RecurringJob;
+import com.example.job_management.repository.JobRepository;
+import com.example.job_management.repository.RecurringJobRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.support.CronExpression;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Manages recurring job definitions and, on the leader, materializes their
+ * {@link Job}s when they come due. Definitions are kept in a heap ordered by next
+ * fire time, so a tick only looks at the definitions that are actually due. New
+ * definitions are picked up incrementally by id; the heap is rebuilt from the
+ * table whenever this node (re)acquires leadership.
+ */
+@Service
+public class RecurringJobService implements MaintenanceTask {
+    private final RecurringJobRepository recurringJobRepository;
+    private final JobRepository jobRepository;
+    private final JobStatistics jobStatistics;
+    private final TransactionTemplate transactionTemplate;
+    private final long tickMs;
+    private final long lookaheadMs;
+    private final long misfireThresholdMs;
+    private final int maxCatchUp;
+
+    private final PriorityQueue<IndexEntry> index = new PriorityQueue<>(
+            Comparator.comparing((IndexEntry entry) -> entry.nextFireTime).thenComparing(entry -> entry.id));
+    private long indexedToken;
+    private long indexedUpToId;
+
+    public RecurringJobService(RecurringJobRepository recurringJobRepository, JobRepository jobRepository,
+            JobStatistics jobStatistics, PlatformTransactionManager transactionManager,
+            @Value("${job.recurring.tick-ms:1000}") long tickMs,
+            @Value("${job.recurring.lookahead-ms:1000}") long lookaheadMs,
+            @Value("${job.recurring.misfire-threshold-ms:5000}") long misfireThresholdMs,
+            @Value("${job.recurring.max-catch-up:1000}") int maxCatchUp) {
+        this.recurringJobRepository = recurringJobRepository;
+        this.jobRepository = jobRepository;
+        this.jobStatistics = jobStatistics;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.tickMs = tickMs;
+        this.lookaheadMs = lookaheadMs;
+        this.misfireThresholdMs = misfireThresholdMs;
+        this.maxCatchUp = maxCatchUp;
+    }
+
+    public String validateRecurringJob(RecurringJobDto dto) {
+        if (dto.getType() == null || dto.getType().length() == 0) {
+            return "Invalid job type";
+        }
+        if (dto.getPriority() < 0) {
+            return "Invalid job priority";
+        }
+        if ((dto.getCronExpression() == null) == (dto.getFixedRateMs() == null)) {
+            return "Exactly one of cronExpression and fixedRateMs is required";
+        }
+        if (dto.getCronExpression() != null && !CronExpression.isValidExpression(dto.getCronExpression())) {
+            return "Invalid cron expression";
+        }
+        if (dto.getFixedRateMs() != null && dto.getFixedRateMs() <= 0) {
+            return "Invalid fixed rate";
+        }
+        return null;
+    }
+
+    public RecurringJob createRecurringJob(RecurringJobDto dto) {
+        RecurringJob recurringJob = new RecurringJob();
+        recurringJob.setType(dto.getType());
+        recurringJob.setPriority(dto.getPriority());
+        recurringJob.setCronExpression(dto.getCronExpression());
+        recurringJob.setFixedRateMs(dto.getFixedRateMs());
+        recurringJob.setMisfirePolicy(
+                dto.getMisfirePolicy() != null ? dto.getMisfirePolicy() : MisfirePolicy.FIRE_ONCE);
+        LocalDateTime start = dto.getStartTime() != null ? dto.getStartTime() : LocalDateTime.now();
+        if (dto.getCronExpression() != null) {
+            recurringJob.setNextFireTime(CronExpression.parse(dto.getCronExpression()).next(start.minusNanos(1)));
+        } else if (dto.getStartTime() != null) {
+            recurringJob.setNextFireTime(start);
+        } else {
+            recurringJob.setNextFireTime(start.plus(Duration.ofMillis(dto.getFixedRateMs())));
+        }
+        return recurringJobRepository.save(recurringJob);
+    }
+
+    public List<RecurringJob> getAllRecurringJobs() {
+        return recurringJobRepository.findAll();
+    }
+
+    public RecurringJob getRecurringJobById(Long id) {
+        return recurringJobRepository.findById(id).orElse(null);
+    }
+
+    public void deleteRecurringJob(Long id) {
+        recurringJobRepository.deleteById(id);
+    }
+
+    @Override
+    public String getName() {
+        return "recurring-jobs";
+    }
+
+    @Override
+    public long getIntervalMs() {
+        return tickMs;
+    }
+
+    @Override
+    public synchronized void run(long fencingToken) {
+        if (fencingToken != indexedToken) {
+            index.clear();
+            indexedUpToId = 0;
+            indexedToken = fencingToken;
+        }
+        for (RecurringJob recurringJob : recurringJobRepository.findByIdGreaterThanOrderByIdAsc(indexedUpToId)) {
+            indexedUpToId = recurringJob.getId();
+            if (recurringJob.getNextFireTime() != null) {
+                index.add(new IndexEntry(recurringJob.getId(), recurringJob.getNextFireTime()));
+            }
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime horizon = now.plus(Duration.ofMillis(lookaheadMs));
+        while (!index.isEmpty() && !index.peek().nextFireTime.isAfter(horizon)) {
+            IndexEntry entry = index.poll();
+            RecurringJob recurringJob = recurringJobRepository.findById(entry.id).orElse(null);
+            if (recurringJob == null || recurringJob.getNextFireTime() == null) {
+                // Deleted since it was indexed
+                continue;
+            }
+            if (!recurringJob.getNextFireTime().equals(entry.nextFireTime)) {
+                index.add(new IndexEntry(recurringJob.getId(), recurringJob.getNextFireTime()));
+                continue;
+            }
+            if (!fire(recurringJob, now, fencingToken)) {
+                // Lost the lease or the definition changed under us; look again on the next tick
+                index.add(entry);
+                return;
+            }
+        }
+    }
+
+    private boolean fire(RecurringJob recurringJob, LocalDateTime now, long fencingToken) {
+        RecurringSchedule schedule = RecurringSchedule.of(recurringJob.getCronExpression(),
+                recurringJob.getFixedRateMs());
+        LocalDateTime due = recurringJob.getNextFireTime();
+        List<LocalDateTime> fireTimes = new ArrayList<>();
+        LocalDateTime next;
+        if (Duration.between(due, now).toMillis() <= misfireThresholdMs) {
+            fireTimes.add(due);
+            next = schedule.firstAfter(due, due);
+        } else {
+            switch (recurringJob.getMisfirePolicy()) {
+                case SKIP -> next = schedule.firstAfter(due, now);
+                case CATCH_UP -> {
+                    next = due;
+                    while (next != null && !next.isAfter(now) && fireTimes.size() < maxCatchUp) {
+                        fireTimes.add(next);
+                        next = schedule.firstAfter(due, next);
+                    }
+                }
+                default -> {
+                    fireTimes.add(now);
+                    next = schedule.firstAfter(due, now);
+                }
+            }
+        }
+
+        List<Job> jobs = new ArrayList<>(fireTimes.size());
+        for (LocalDateTime fireTime : fireTimes) {
+            Job job = new Job(recurringJob.getType(), JobState.QUEUED, recurringJob.getPriority(), fireTime);
+            job.setQueuedAt(now);
+            jobs.add(job);
+        }
+        LocalDateTime fired = fireTimes.isEmpty() ? recurringJob.getLastFireTime()
+                : fireTimes.get(fireTimes.size() - 1);
+        LocalDateTime nextFireTime = next;
+        Boolean advanced = transactionTemplate.execute(status -> {
+            if (recurringJobRepository.advance(recurringJob.getId(), due, nextFireTime, fired,
+                    LeaderElectionService.MAINTENANCE_LEASE, fencingToken) != 1) {
+                return false;
+            }
+            if (!jobs.isEmpty()) {
+                jobRepository.saveAll(jobs);
+            }
+            return true;
+        });
+        if (!Boolean.TRUE.equals(advanced)) {
+            return false;
+        }
+        jobs.forEach(jobStatistics::onCreated);
+        if (nextFireTime != null) {
+            index.add(new IndexEntry(recurringJob.getId(), nextFireTime));
+        }
+        return true;
+    }
+
+    private static class IndexEntry {
+        private final Long id;
+        private final LocalDateTime nextFireTime;
+
+        IndexEntry(Long id, LocalDateTime nextFireTime) {
+            this.id = id;
+            this.nextFireTime = nextFireTime;
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.job_management.service;
+
+import org.springframework.scheduling.support.CronExpression;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Fire-time arithmetic for a recurring job, either a cron expression or a fixed
+ * rate. Fixed-rate schedules stay on the grid of their first fire time, so
+ * skipping missed executions does not shift later ones.
+ */
+class RecurringSchedule {
+    private final CronExpression cron;
+    private final long fixedRateMs;
+
+    private RecurringSchedule(CronExpression cron, long fixedRateMs) {
+        this.cron = cron;
+        this.fixedRateMs = fixedRateMs;
+    }
+
+    static RecurringSchedule of(String cronExpression, Long fixedRateMs) {
+        if (cronExpression != null) {
+            return new RecurringSchedule(CronExpression.parse(cronExpression), 0);
+        }
+        return new RecurringSchedule(null, fixedRateMs);
+    }
+
+    /**
+     * @return the first fire time strictly after {@code after} on the schedule
+     *         that fires at {@code anchor}, or null if it never fires again
+     */
+    LocalDateTime firstAfter(LocalDateTime anchor, LocalDateTime after) {
+        if (cron != null) {
+            return cron.next(after);
+        }
+        if (anchor.isAfter(after)) {
+            return anchor;
+        }
+        // Jump over all missed periods at once instead of stepping through them
+        long periods = Duration.between(anchor, after).toMillis() / fixedRateMs + 1;
+        return anchor.plus(Duration.ofMillis(periods * fixedRateMs));
+    }
+}
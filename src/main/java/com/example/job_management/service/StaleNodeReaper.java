@@ -0,0 +1,42 @@
+package com.example.job_management.service;
+
+import com.example.job_management.repository.JobNodeRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Removes membership rows of nodes that stopped heartbeating without leaving.
+ */
+@Component
+public class StaleNodeReaper implements MaintenanceTask {
+    private final JobNodeRepository nodeRepository;
+    private final long staleAfterMs;
+    private final long intervalMs;
+
+    public StaleNodeReaper(JobNodeRepository nodeRepository,
+            @Value("${job.cluster.stale-node-after-ms:60000}") long staleAfterMs,
+            @Value("${job.cluster.stale-node-reap-interval-ms:60000}") long intervalMs) {
+        this.nodeRepository = nodeRepository;
+        this.staleAfterMs = staleAfterMs;
+        this.intervalMs = intervalMs;
+    }
+
+    @Override
+    public String getName() {
+        return "stale-node-reaper";
+    }
+
+    @Override
+    public long getIntervalMs() {
+        return intervalMs;
+    }
+
+    @Override
+    public void run(long fencingToken) {
+        nodeRepository.deleteStaleNodes(LocalDateTime.now().minus(Duration.ofMillis(staleAfterMs)),
+                LeaderElectionService.MAINTENANCE_LEASE, fencingToken);
+    }
+}
@@ -0,0 +1,194 @@
+package com.example.job_management.service;
+
+import com.example.job_management.Common.JobState;
+import com.example.job_management.repository.JobRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Coalesces job state transitions reported by workers and writes them in one
+ * transaction every few milliseconds, or as soon as a full batch is pending. All
+ * transitions of a batch with the same source and target state become a single
+ * {@code UPDATE ... WHERE id IN (...)}. The buffer is bounded: when it is full,
+ * workers wait briefly and then write their transition themselves.
+ */
+@Service
+public class TransitionBuffer {
+    private static final Logger log = LoggerFactory.getLogger(TransitionBuffer.class);
+
+    private final JobRepository jobRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final JobStatistics jobStatistics;
+    private final boolean batching;
+    private final int maxBatch;
+    private final long offerTimeoutMs;
+    private final ArrayBlockingQueue<Transition> pending;
+    private final ScheduledExecutorService flusher;
+    private final AtomicBoolean flushRequested = new AtomicBoolean();
+    private volatile boolean closed;
+
+    public TransitionBuffer(JobRepository jobRepository, PlatformTransactionManager transactionManager,
+            JobStatistics jobStatistics,
+            @Value("${job.transitions.batching:true}") boolean batching,
+            @Value("${job.transitions.max-batch:500}") int maxBatch,
+            @Value("${job.transitions.capacity:10000}") int capacity,
+            @Value("${job.transitions.flush-interval-ms:5}") long flushIntervalMs,
+            @Value("${job.transitions.offer-timeout-ms:100}") long offerTimeoutMs) {
+        this.jobRepository = jobRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.jobStatistics = jobStatistics;
+        this.batching = batching;
+        this.maxBatch = maxBatch;
+        this.offerTimeoutMs = offerTimeoutMs;
+        this.pending = new ArrayBlockingQueue<>(capacity);
+        this.flusher = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "job-transition-flusher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        if (batching) {
+            flusher.scheduleWithFixedDelay(this::flushQuietly, flushIntervalMs, flushIntervalMs,
+                    TimeUnit.MILLISECONDS);
+        }
+    }
+
+    public void submit(Long id, String type, JobState from, JobState to) {
+        Transition transition = new Transition(id, type, from, to);
+        if (!batching || closed) {
+            write(List.of(transition));
+            return;
+        }
+        boolean queued;
+        try {
+            queued = pending.offer(transition, offerTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            queued = false;
+        }
+        if (!queued) {
+            write(List.of(transition));
+            return;
+        }
+        if (pending.size() >= maxBatch && flushRequested.compareAndSet(false, true)) {
+            flusher.execute(this::flushQuietly);
+        }
+    }
+
+    /**
+     * Writes the outcomes of a batch of jobs of one type right away, in a single
+     * transaction, bypassing the buffer: the batch is already as coalesced as it gets.
+     */
+    public void submitBatch(String type, JobState from, Map<Long, JobState> outcomes) {
+        List<Transition> batch = new ArrayList<>(outcomes.size());
+        outcomes.forEach((id, to) -> batch.add(new Transition(id, type, from, to)));
+        if (!batch.isEmpty()) {
+            write(batch);
+        }
+    }
+
+    /**
+     * Writes everything submitted so far on the calling thread.
+     */
+    public synchronized void flush() {
+        flushRequested.set(false);
+        List<Transition> batch = new ArrayList<>(Math.min(maxBatch, pending.size()));
+        while (pending.drainTo(batch, maxBatch) > 0) {
+            write(batch);
+            batch.clear();
+        }
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            log.error("Flushing job transitions failed", e);
+        }
+    }
+
+    private void write(List<Transition> batch) {
+        Map<JobState, Map<JobState, List<Transition>>> groups = new EnumMap<>(JobState.class);
+        for (Transition transition : batch) {
+            groups.computeIfAbsent(transition.from, k -> new EnumMap<>(JobState.class))
+                    .computeIfAbsent(transition.to, k -> new ArrayList<>())
+                    .add(transition);
+        }
+        try {
+            Boolean complete = transactionTemplate.execute(status -> {
+                boolean all = true;
+                for (Map.Entry<JobState, Map<JobState, List<Transition>>> from : groups.entrySet()) {
+                    for (Map.Entry<JobState, List<Transition>> to : from.getValue().entrySet()) {
+                        List<Long> ids = to.getValue().stream().map(transition -> transition.id).toList();
+                        all &= jobRepository.transitionAll(ids, from.getKey(), to.getKey()) == ids.size();
+                    }
+                }
+                return all;
+            });
+            if (Boolean.TRUE.equals(complete)) {
+                batch.forEach(this::count);
+            } else {
+                // Some rows were no longer in the expected state; we can't tell which
+                jobStatistics.markStale();
+            }
+        } catch (RuntimeException e) {
+            if (batch.size() == 1) {
+                throw e;
+            }
+            log.warn("Batched write of {} job transitions failed, writing them one by one", batch.size(), e);
+            for (Transition transition : batch) {
+                try {
+                    if (jobRepository.transition(transition.id, transition.from, transition.to) == 1) {
+                        count(transition);
+                    }
+                } catch (RuntimeException single) {
+                    log.error("Could not move job {} from {} to {}", transition.id, transition.from,
+                            transition.to, single);
+                }
+            }
+        }
+    }
+
+    private void count(Transition transition) {
+        jobStatistics.onTransition(transition.type, transition.from, transition.to);
+    }
+
+    public int getPendingCount() {
+        return pending.size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        closed = true;
+        flusher.shutdown();
+        flush();
+    }
+
+    private static class Transition {
+        private final Long id;
+        private final String type;
+        private final JobState from;
+        private final JobState to;
+
+        Transition(Long id, String type, JobState from, JobState to) {
+            this.id = id;
+            this.type = type;
+            this.from = from;
+            this.to = to;
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.example.job_management;
+
+import com.example.job_management.Common.JobState;
+import com.example.job_management.dto.JobCountDto;
+import com.example.job_management.dto.JobDto;
+import com.example.job_management.model.Job;
+import com.example.job_management.repository.JobRepository;
+import com.example.job_management.service.JobAdmission;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class JobAdmissionTest {
+
+    private JobRepository jobRepository;
+
+    @BeforeEach
+    void setUp() {
+        jobRepository = mock(JobRepository.class);
+    }
+
+    private void queued(JobCountDto... counts) {
+        when(jobRepository.countByTypeInState(JobState.QUEUED)).thenReturn(List.of(counts));
+    }
+
+    private JobAdmission admission(long maxQueued, String perType, boolean adaptive) {
+        return new JobAdmission(jobRepository, maxQueued, perType, 5, adaptive, 1000, 10, 5, 0.5, 1.0);
+    }
+
+    private JobDto job(String type) {
+        return new JobDto(type, null, 1);
+    }
+
+    @Test
+    void testGlobalCeiling() {
+        JobAdmission admission = admission(10, "", false);
+        queued(new JobCountDto(JobState.QUEUED, "email", 8), new JobCountDto(JobState.QUEUED, "report", 1));
+
+        assertNull(admission.admit(job("email")));
+        assertEquals("Too many queued jobs (limit 10)", admission.admit(List.of(job("email"), job("email"))));
+    }
+
+    @Test
+    void testAdmittedJobsCountUntilTheNextRefresh() {
+        JobAdmission admission = admission(3, "", false);
+        queued(new JobCountDto(JobState.QUEUED, "email", 1));
+
+        assertNull(admission.admit(List.of(job("email"), job("email"))));
+        assertEquals("Too many queued jobs (limit 3)", admission.admit(job("email")));
+
+        // Meanwhile other nodes claimed the jobs
+        queued();
+        admission.refresh();
+        assertNull(admission.admit(List.of(job("email"), job("email"), job("email"))));
+        verify(jobRepository, times(2)).countByTypeInState(JobState.QUEUED);
+    }
+
+    @Test
+    void testPerTypeCeiling() {
+        JobAdmission admission = admission(100, "email=2, report=50", false);
+        queued(new JobCountDto(JobState.QUEUED, "email", 1));
+
+        assertNull(admission.admit(job("email")));
+        assertNull(admission.admit(job("other")));
+        assertEquals("Too many queued jobs of type email (limit 2)",
+                admission.admit(List.of(job("report"), job("email"), job("email"))));
+    }
+
+    @Test
+    void testInvalidPerTypeCeiling() {
+        assertThrows(IllegalArgumentException.class, () -> admission(100, "email", false));
+    }
+
+    @Test
+    void testAdaptiveLimitFollowsDispatchLatency() {
+        JobAdmission admission = admission(100, "", true);
+        LocalDateTime now = LocalDateTime.now();
+        Job slow = new Job("email", JobState.QUEUED, 1, null);
+        slow.setQueuedAt(now.minusSeconds(10));
+
+        admission.onDispatched(slow, now);
+        admission.adjust();
+        assertEquals(50, admission.getLimit());
+        assertEquals(10, admission.getRetryAfterSeconds());
+        admission.adjust();
+        admission.adjust();
+        admission.adjust();
+        assertEquals(10, admission.getLimit());
+
+        Job fast = new Job("email", JobState.QUEUED, 1, now.minusSeconds(1));
+        fast.setQueuedAt(now.minusSeconds(5));
+        admission.onDispatched(fast, now);
+        admission.adjust();
+        assertEquals(15, admission.getLimit());
+        assertEquals(5, admission.getRetryAfterSeconds());
+    }
+
+    @Test
+    void testStaticModeIgnoresLatency() {
+        JobAdmission admission = admission(100, "", false);
+        Job slow = new Job("email", JobState.QUEUED, 1, null);
+        slow.setQueuedAt(LocalDateTime.now().minusSeconds(10));
+
+        admission.onDispatched(slow, LocalDateTime.now());
+        admission.adjust();
+        assertEquals(100, admission.getLimit());
+        assertEquals(5, admission.getRetryAfterSeconds());
+    }
+}
@@ -0,0 +1,184 @@
+package com.example.job_management;
+
+import com.example.job_management.Common.BulkOperationStatus;
+import com.example.job_management.Common.JobState;
+import com.example.job_management.dto.BulkOperationDto;
+import com.example.job_management.dto.JobFilterDto;
+import com.example.job_management.repository.JobRepository;
+import com.example.job_management.service.JobBulkService;
+import com.example.job_management.service.JobStatistics;
+import com.example.job_management.service.JobTracing;
+
+import io.micrometer.observation.ObservationRegistry;
+import io.micrometer.tracing.Tracer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class JobBulkServiceTest {
+
+    @Mock
+    private JobRepository jobRepository;
+
+    @Mock
+    private JobStatistics jobStatistics;
+
+    private JobBulkService jobBulkService;
+
+    @BeforeEach
+    void setUp() {
+        // Chunks of 2, operations over more than 4 jobs run in the background
+        jobBulkService = new JobBulkService(jobRepository, jobStatistics,
+                new JobTracing(Tracer.NOOP, ObservationRegistry.NOOP), 2, 4);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jobBulkService.shutdown();
+    }
+
+    private static JobFilterDto filterByType(String type) {
+        JobFilterDto filter = new JobFilterDto();
+        filter.setTypes(List.of(type));
+        return filter;
+    }
+
+    @Test
+    void testRetryWalksFailedJobsInChunks() {
+        when(jobRepository.countByFilter(any())).thenReturn(3L);
+        when(jobRepository.findIdsByFilter(any(), eq(0L), eq(2))).thenReturn(List.of(1L, 2L));
+        when(jobRepository.findIdsByFilter(any(), eq(2L), eq(2))).thenReturn(List.of(3L));
+        when(jobRepository.requeueAll(anyCollection(), eq(JobState.FAILED), eq(JobState.QUEUED),
+                any(LocalDateTime.class), isNull())).thenReturn(2, 0);
+
+        BulkOperationDto operation = jobBulkService.retryJobs(filterByType("email"));
+
+        assertEquals(BulkOperationStatus.COMPLETED, operation.getStatus());
+        assertEquals(3, operation.getMatched());
+        assertEquals(3, operation.getProcessed());
+        assertEquals(2, operation.getAffected());
+        verify(jobRepository).requeueAll(eq(List.of(1L, 2L)), any(), any(), any(), any());
+        verify(jobRepository).requeueAll(eq(List.of(3L)), any(), any(), any(), any());
+        verify(jobRepository).findIdsByFilter(argThat(filter -> filter.getStates().equals(List.of(JobState.FAILED))
+                && filter.getTypes().equals(List.of("email"))), eq(0L), eq(2));
+        verify(jobStatistics).markStale();
+        assertSame(operation, jobBulkService.getOperation(operation.getId()));
+    }
+
+    @Test
+    void testRetryOfOtherStatesMatchesNothing() {
+        JobFilterDto filter = filterByType("email");
+        filter.setStates(List.of(JobState.SUCCESS));
+
+        BulkOperationDto operation = jobBulkService.retryJobs(filter);
+
+        assertEquals(BulkOperationStatus.COMPLETED, operation.getStatus());
+        assertEquals(0, operation.getMatched());
+        verifyNoInteractions(jobRepository);
+    }
+
+    @Test
+    void testDeleteByIdsChunksTheIdList() {
+        JobFilterDto filter = new JobFilterDto();
+        filter.setIds(List.of(5L, 1L, 3L, 1L));
+        // Job 5 no longer exists
+        when(jobRepository.countByFilter(any())).thenAnswer(invocation -> {
+            JobFilterDto chunk = invocation.getArgument(0);
+            return chunk.getIds().stream().filter(id -> id != 5L).count();
+        });
+        when(jobRepository.findIdsByFilter(any(), eq(0L), eq(2))).thenAnswer(invocation -> {
+            JobFilterDto chunk = invocation.getArgument(0);
+            return chunk.getIds().stream().filter(id -> id != 5L).toList();
+        });
+        when(jobRepository.deleteAllNotInState(List.of(1L, 3L), JobState.RUNNING)).thenReturn(2);
+
+        BulkOperationDto operation = jobBulkService.deleteJobs(filter);
+
+        assertEquals(BulkOperationStatus.COMPLETED, operation.getStatus());
+        assertEquals(2, operation.getMatched());
+        assertEquals(2, operation.getProcessed());
+        assertEquals(2, operation.getAffected());
+        verify(jobRepository, times(2)).countByFilter(any());
+        verify(jobRepository).findIdsByFilter(argThat(chunk -> chunk.getIds().equals(List.of(5L))), eq(0L), eq(2));
+        verify(jobRepository, times(1)).deleteAllNotInState(anyCollection(), any());
+    }
+
+    @Test
+    void testLargeOperationRunsInBackground() {
+        when(jobRepository.countByFilter(any())).thenReturn(5L);
+        when(jobRepository.findIdsByFilter(any(), anyLong(), eq(2))).thenReturn(List.of(1L, 2L))
+                .thenReturn(List.of(3L, 4L)).thenReturn(List.of(5L));
+        when(jobRepository.updatePriorityAll(anyCollection(), eq(7)))
+                .thenAnswer(invocation -> ((List<?>) invocation.getArgument(0)).size());
+
+        BulkOperationDto operation = jobBulkService.reprioritizeJobs(filterByType("email"), 7);
+
+        verify(jobRepository, timeout(1000).times(3)).updatePriorityAll(anyCollection(), eq(7));
+        verify(jobRepository, timeout(1000).times(3)).findIdsByFilter(any(), anyLong(), eq(2));
+        long deadline = System.currentTimeMillis() + 1000;
+        while (operation.getStatus() == BulkOperationStatus.RUNNING && System.currentTimeMillis() < deadline) {
+            Thread.onSpinWait();
+        }
+        assertEquals(BulkOperationStatus.COMPLETED, operation.getStatus());
+        assertEquals(5, operation.getAffected());
+    }
+
+    @Test
+    void testRunningOperationsAreNotEvicted() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        when(jobRepository.countByFilter(any())).thenReturn(5L);
+        when(jobRepository.findIdsByFilter(any(), anyLong(), eq(2))).thenReturn(List.of(1L));
+        when(jobRepository.updatePriorityAll(anyCollection(), eq(7))).thenAnswer(invocation -> {
+            release.await();
+            return 1;
+        });
+        BulkOperationDto running = jobBulkService.reprioritizeJobs(filterByType("email"), 7);
+        JobFilterDto nothing = filterByType("email");
+        nothing.setStates(List.of(JobState.SUCCESS));
+        BulkOperationDto first = jobBulkService.retryJobs(nothing);
+
+        for (int i = 0; i < 100; i++) {
+            jobBulkService.retryJobs(nothing);
+        }
+
+        assertSame(running, jobBulkService.getOperation(running.getId()));
+        assertNull(jobBulkService.getOperation(first.getId()));
+        release.countDown();
+    }
+
+    @Test
+    void testFailingStatementFailsOperation() {
+        when(jobRepository.countByFilter(any())).thenReturn(2L);
+        when(jobRepository.findIdsByFilter(any(), eq(0L), eq(2))).thenReturn(List.of(1L, 2L));
+        when(jobRepository.updatePriorityAll(anyCollection(), anyInt()))
+                .thenThrow(new IllegalStateException("lock timeout"));
+
+        BulkOperationDto operation = jobBulkService.reprioritizeJobs(filterByType("email"), 1);
+
+        assertEquals(BulkOperationStatus.FAILED, operation.getStatus());
+        assertEquals("lock timeout", operation.getError());
+        assertNotNull(operation.getFinishedAt());
+    }
+
+    @Test
+    void testValidateFilter() {
+        assertEquals("Filter must have at least one criterion", jobBulkService.validateFilter(new JobFilterDto()));
+        JobFilterDto window = new JobFilterDto();
+        window.setScheduledFrom(LocalDateTime.now());
+        window.setScheduledTo(window.getScheduledFrom().minusHours(1));
+        assertEquals("scheduledFrom must be before scheduledTo", jobBulkService.validateFilter(window));
+        assertNull(jobBulkService.validateFilter(filterByType("email")));
+    }
+}
@@ -4,12 +4,17 @@ import com.example.job_management.model.Job;
 import com.example.job_management.service.JobService;
 import com.example.job_management.Common.JobState;
 import com.example.job_management.controller.JobController;
+import com.example.job_management.dto.BulkValidationResponseDto;
 import com.example.job_management.dto.JobDto;
+import com.example.job_management.dto.JobStatsDto;
+import com.example.job_management.dto.JobSummaryDto;
+import com.example.job_management.dto.JobValidationErrorDto;
 import com.example.job_management.dto.ResponseDto;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 
@@ -17,6 +22,7 @@ import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.Mockito.*;
 
 import java.util.List;
+import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -103,28 +109,58 @@ class JobControllerTest {
         JobDto jobDto1 = new JobDto(job1);
         JobDto jobDto2 = new JobDto(job2);
 
-        when(jobService.validateJobs(List.of(jobDto1, jobDto2))).thenReturn("Job Test Job 2 : Invalid job type");
+        when(jobService.validateJobs(List.of(jobDto1, jobDto2)))
+                .thenReturn(List.of(new JobValidationErrorDto(1, "Invalid job type")));
         ResponseEntity<?> response = jobController.createJobs(List.of(jobDto1, jobDto2));
 
         assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
-        assertTrue(response.getBody() instanceof ResponseDto);
+        assertTrue(response.getBody() instanceof BulkValidationResponseDto);
+        BulkValidationResponseDto body = (BulkValidationResponseDto) response.getBody();
+        assertEquals(1, body.getErrors().size());
+        assertEquals(1, body.getErrors().get(0).getIndex());
         verify(jobService, times(0)).createJobs(List.of(jobDto1, jobDto2));
     }
 
     @Test
-    public void getAllJobs_Success() {
-        Job job1 = new Job();
-        job1.setId(1L);
-        job1.setType("Test Job 1");
+    public void createJob_TooManyQueuedJobs() {
+        Job job = new Job();
+        job.setType("email");
+        JobDto jobDto = new JobDto(job);
 
-        Job job2 = new Job();
-        job2.setId(2L);
-        job2.setType("Test Job 2");
+        when(jobService.admitJob(jobDto)).thenReturn("Too many queued jobs (limit 10)");
+        when(jobService.getRetryAfterSeconds()).thenReturn(5L);
+        ResponseEntity<?> response = jobController.createJob(jobDto);
+
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, response.getStatusCode());
+        assertEquals("5", response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+        assertEquals("Too many queued jobs (limit 10)", ((ResponseDto) response.getBody()).getMessage());
+        verify(jobService, times(0)).createJob(jobDto);
+    }
+
+    @Test
+    public void createBulkJobs_TooManyQueuedJobs() {
+        Job job = new Job();
+        job.setType("email");
+        List<JobDto> jobs = List.of(new JobDto(job), new JobDto(job));
+
+        when(jobService.admitJobs(jobs)).thenReturn("Too many queued jobs of type email (limit 1)");
+        when(jobService.getRetryAfterSeconds()).thenReturn(5L);
+        ResponseEntity<?> response = jobController.createJobs(jobs);
+
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, response.getStatusCode());
+        assertEquals("5", response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+        verify(jobService, times(0)).createJobs(anyList());
+    }
+
+    @Test
+    public void getAllJobs_Success() {
+        JobSummaryDto job1 = new JobSummaryDto(1L, "Test Job 1", JobState.QUEUED, 0, null);
+        JobSummaryDto job2 = new JobSummaryDto(2L, "Test Job 2", JobState.QUEUED, 0, null);
 
         // Mock the behavior of jobService
         when(jobService.getAllJobs()).thenReturn(List.of(job1, job2));
 
-        ResponseEntity<List<Job>> response = jobController.getAllJobs();
+        ResponseEntity<List<JobSummaryDto>> response = jobController.getAllJobs();
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertNotNull(response.getBody());
@@ -134,6 +170,19 @@ class JobControllerTest {
         verify(jobService, times(1)).getAllJobs();
     }
 
+    @Test
+    public void getStats_Success() {
+        JobStatsDto stats = new JobStatsDto(2, Map.of(JobState.QUEUED, 2L), Map.of(), Map.of(1, 2L), null);
+
+        when(jobService.getStats()).thenReturn(stats);
+
+        ResponseEntity<JobStatsDto> response = jobController.getStats();
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(2, response.getBody().getTotal());
+        verify(jobService, times(1)).getStats();
+    }
+
     @Test
     public void getById_Success() {
         Long jobId = 1L;
@@ -169,17 +218,28 @@ class JobControllerTest {
     @Test
     public void getJobStatus_Success() {
         Long jobId = 1L;
-        Job job = new Job();
-        job.setState(JobState.QUEUED);
 
         // Mock the behavior of jobService
-        when(jobService.getJobById(jobId)).thenReturn(job);
+        when(jobService.getJobState(jobId)).thenReturn(JobState.QUEUED);
 
         ResponseEntity<?> response = jobController.getJobStatus(jobId);
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
-        assertEquals(JobState.QUEUED, response.getBody());
-        verify(jobService, times(1)).getJobById(jobId);
+        assertEquals(JobState.QUEUED.toString(), ((ResponseDto) response.getBody()).getMessage());
+        verify(jobService, times(1)).getJobState(jobId);
+        verify(jobService, never()).getJobById(jobId);
+    }
+
+    @Test
+    public void getJobStatus_JobNotFound() {
+        Long jobId = 1L;
+
+        when(jobService.getJobState(jobId)).thenReturn(null);
+
+        ResponseEntity<?> response = jobController.getJobStatus(jobId);
+
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+        assertTrue(response.getBody() instanceof ResponseDto);
     }
 
     @Test
@@ -212,6 +272,23 @@ class JobControllerTest {
         verify(jobService, times(1)).getJobById(jobId);
     }
 
+    @Test
+    public void deleteJob_Success() {
+        Long jobId = 1L;
+        Job job = new Job();
+        job.setId(jobId);
+        job.setState(JobState.FAILED);
+
+        when(jobService.getJobById(jobId)).thenReturn(job);
+
+        ResponseEntity<?> response = jobController.deleteJob(jobId);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        // The loaded job is handed over, so it is not read a second time
+        verify(jobService, times(1)).getJobById(jobId);
+        verify(jobService, times(1)).deleteJob(job);
+    }
+
     @Test
     public void retryJob_JobNotFound() {
         Long jobId = 1L;
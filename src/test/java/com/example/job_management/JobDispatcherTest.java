@@ -0,0 +1,545 @@
+package com.example.job_management;
+
+import com.example.job_management.Common.JobState;
+import com.example.job_management.dto.JobChangeDto;
+import com.example.job_management.dto.JobSummaryDto;
+import com.example.job_management.model.Job;
+import com.example.job_management.repository.JobRepository;
+import com.example.job_management.service.BatchJobHandler;
+import com.example.job_management.service.JobAdmission;
+import com.example.job_management.service.JobDispatcher;
+import com.example.job_management.service.JobHandler;
+import com.example.job_management.service.JobLifecycleManager;
+import com.example.job_management.service.JobStatistics;
+import com.example.job_management.service.JobTracing;
+import com.example.job_management.service.PartitionService;
+import com.example.job_management.service.PendingJobIndex;
+import com.example.job_management.service.PendingJobIndexSnapshot;
+import com.example.job_management.service.TransitionBuffer;
+
+import io.micrometer.observation.ObservationRegistry;
+import io.micrometer.tracing.Tracer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.domain.Pageable;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+public class JobDispatcherTest {
+
+    @Mock
+    private JobRepository jobRepository;
+
+    @Mock
+    private PartitionService partitionService;
+
+    @Mock
+    private TransitionBuffer transitionBuffer;
+
+    @Mock
+    private JobStatistics jobStatistics;
+
+    @Mock
+    private JobAdmission jobAdmission;
+
+    @Mock
+    private ObjectProvider<JobHandler> handlerProvider;
+
+    @Mock
+    private ObjectProvider<BatchJobHandler> batchHandlerProvider;
+
+    @Mock
+    private JobHandler emailHandler;
+
+    @Mock
+    private BatchJobHandler bulkHandler;
+
+    private PendingJobIndexSnapshot indexSnapshot = new PendingJobIndexSnapshot("", 3600000);
+
+    private JobDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() {
+        when(emailHandler.getType()).thenReturn("email");
+        when(handlerProvider.orderedStream()).thenAnswer(invocation -> Stream.of(emailHandler));
+        when(batchHandlerProvider.orderedStream()).thenAnswer(invocation -> Stream.empty());
+        when(bulkHandler.getType()).thenReturn("bulk");
+        when(bulkHandler.getMaxBatchSize()).thenReturn(10);
+        when(bulkHandler.getMaxLingerMs()).thenReturn(50L);
+        when(partitionService.getOwnedPartitions()).thenReturn(Set.of(0, 1));
+        when(partitionService.getPartitionCount()).thenReturn(2);
+        when(partitionService.partitionOf(anyLong()))
+                .thenAnswer(invocation -> PartitionService.partitionOf(invocation.getArgument(0), 2));
+        dispatcher = newDispatcher();
+    }
+
+    private JobDispatcher newDispatcher() {
+        return newDispatcher(false);
+    }
+
+    private JobDispatcher newDispatcher(boolean indexEnabled) {
+        return new JobDispatcher(jobRepository, partitionService, transitionBuffer, jobStatistics,
+                new JobTracing(Tracer.NOOP, ObservationRegistry.NOOP), jobAdmission, indexSnapshot, handlerProvider,
+                batchHandlerProvider, 2, indexEnabled, 60000, 60000, 2);
+    }
+
+    private JobDispatcher newBatchDispatcher() {
+        dispatcher.shutdown();
+        when(handlerProvider.orderedStream()).thenReturn(Stream.empty());
+        when(batchHandlerProvider.orderedStream()).thenReturn(Stream.of(bulkHandler));
+        when(jobRepository.transition(anyLong(), eq(JobState.QUEUED), eq(JobState.RUNNING))).thenReturn(1);
+        when(jobRepository.findAllById(anyIterable())).thenAnswer(invocation -> {
+            List<Job> jobs = new ArrayList<>();
+            for (Object id : (Iterable<?>) invocation.getArgument(0)) {
+                Job job = new Job("bulk", JobState.RUNNING, 1, null);
+                job.setId((Long) id);
+                jobs.add(job);
+            }
+            return jobs;
+        });
+        return newDispatcher();
+    }
+
+    @AfterEach
+    void tearDown() {
+        dispatcher.shutdown();
+    }
+
+    private Job job(Long id) {
+        Job job = new Job("email", JobState.RUNNING, 1, null);
+        job.setId(id);
+        return job;
+    }
+
+    @Test
+    void testDispatchRunsClaimedJobs() throws Exception {
+        when(jobRepository.findDispatchableIds(eq(JobState.QUEUED), anyCollection(), anyCollection(), eq(2),
+                any(LocalDateTime.class), any(Pageable.class))).thenReturn(List.of(1L));
+        when(jobRepository.transition(1L, JobState.QUEUED, JobState.RUNNING)).thenReturn(1);
+        when(jobRepository.findById(1L)).thenReturn(Optional.of(job(1L)));
+
+        dispatcher.dispatch();
+
+        verify(emailHandler, timeout(1000)).execute(any(Job.class));
+        verify(transitionBuffer, timeout(1000)).submit(1L, "email", JobState.RUNNING, JobState.SUCCESS);
+    }
+
+    @Test
+    void testDispatchSkipsJobsClaimedByAnotherNode() throws Exception {
+        when(jobRepository.findDispatchableIds(eq(JobState.QUEUED), anyCollection(), anyCollection(), eq(2),
+                any(LocalDateTime.class), any(Pageable.class))).thenReturn(List.of(1L));
+        when(jobRepository.transition(1L, JobState.QUEUED, JobState.RUNNING)).thenReturn(0);
+
+        dispatcher.dispatch();
+
+        verify(jobRepository, after(200).never()).findById(1L);
+        verify(emailHandler, never()).execute(any(Job.class));
+    }
+
+    @Test
+    void testFailingHandlerMarksJobFailed() throws Exception {
+        when(jobRepository.findDispatchableIds(eq(JobState.QUEUED), anyCollection(), anyCollection(), eq(2),
+                any(LocalDateTime.class), any(Pageable.class))).thenReturn(List.of(1L));
+        when(jobRepository.transition(1L, JobState.QUEUED, JobState.RUNNING)).thenReturn(1);
+        when(jobRepository.findById(1L)).thenReturn(Optional.of(job(1L)));
+        doThrow(new IllegalStateException("smtp down")).when(emailHandler).execute(any(Job.class));
+
+        dispatcher.dispatch();
+
+        verify(transitionBuffer, timeout(1000)).submit(1L, "email", JobState.RUNNING, JobState.FAILED);
+    }
+
+    @Test
+    void testHandlerErrorMarksJobFailed() throws Exception {
+        when(jobRepository.findDispatchableIds(eq(JobState.QUEUED), anyCollection(), anyCollection(), eq(2),
+                any(LocalDateTime.class), any(Pageable.class))).thenReturn(List.of(1L));
+        when(jobRepository.transition(1L, JobState.QUEUED, JobState.RUNNING)).thenReturn(1);
+        when(jobRepository.findById(1L)).thenReturn(Optional.of(job(1L)));
+        doThrow(new AssertionError("unexpected template")).when(emailHandler).execute(any(Job.class));
+
+        dispatcher.dispatch();
+
+        verify(transitionBuffer, timeout(1000)).submit(1L, "email", JobState.RUNNING, JobState.FAILED);
+        assertTrue(dispatcher.awaitIdle(1000));
+    }
+
+    @Test
+    void testStopWaitsForClaimInFlight() throws Exception {
+        CountDownLatch claiming = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(jobRepository.findDispatchableIds(eq(JobState.QUEUED), anyCollection(), anyCollection(), eq(2),
+                any(LocalDateTime.class), any(Pageable.class))).thenReturn(List.of(1L));
+        when(jobRepository.transition(1L, JobState.QUEUED, JobState.RUNNING)).thenAnswer(invocation -> {
+            claiming.countDown();
+            release.await();
+            return 1;
+        });
+        when(jobRepository.findById(1L)).thenReturn(Optional.of(job(1L)));
+        CompletableFuture<Void> dispatch = CompletableFuture.runAsync(dispatcher::dispatch);
+        assertTrue(claiming.await(1, TimeUnit.SECONDS));
+
+        CompletableFuture<Void> stop = CompletableFuture.runAsync(
+                new JobLifecycleManager(dispatcher, transitionBuffer, jobRepository, jobStatistics, 1000, 1000)::stop);
+        Thread.sleep(200);
+        assertFalse(stop.isDone());
+        release.countDown();
+        dispatch.get(1, TimeUnit.SECONDS);
+        stop.get(5, TimeUnit.SECONDS);
+
+        verify(emailHandler).execute(any(Job.class));
+        verify(transitionBuffer).submit(1L, "email", JobState.RUNNING, JobState.SUCCESS);
+        verify(jobRepository, never()).requeueAll(anyCollection(), any(), any(), any());
+    }
+
+    @Test
+    void testJobClaimedAfterWorkersStoppedIsAbandoned() throws Exception {
+        when(jobRepository.findDispatchableIds(eq(JobState.QUEUED), anyCollection(), anyCollection(), eq(2),
+                any(LocalDateTime.class), any(Pageable.class))).thenReturn(List.of(1L));
+        when(jobRepository.transition(1L, JobState.QUEUED, JobState.RUNNING)).thenReturn(1);
+        when(jobRepository.findById(1L)).thenReturn(Optional.of(job(1L)));
+        assertTrue(dispatcher.stopWorkers(100));
+
+        dispatcher.dispatch();
+
+        assertEquals(Map.of(1L, "email"), dispatcher.getAbandoned());
+        assertTrue(dispatcher.getInFlight().isEmpty());
+        verify(emailHandler, never()).execute(any(Job.class));
+    }
+
+    @Test
+    void testStopWorkersAbandonsInterruptedJobs() throws Exception {
+        when(jobRepository.findDispatchableIds(eq(JobState.QUEUED), anyCollection(), anyCollection(), eq(2),
+                any(LocalDateTime.class), any(Pageable.class))).thenReturn(List.of(1L));
+        when(jobRepository.transition(1L, JobState.QUEUED, JobState.RUNNING)).thenReturn(1);
+        when(jobRepository.findById(1L)).thenReturn(Optional.of(job(1L)));
+        doAnswer(invocation -> {
+            Thread.sleep(10_000);
+            return null;
+        }).when(emailHandler).execute(any(Job.class));
+
+        dispatcher.dispatch();
+        verify(emailHandler, timeout(1000)).execute(any(Job.class));
+
+        assertTrue(dispatcher.stopWorkers(1000));
+        assertEquals(Map.of(1L, "email"), dispatcher.getAbandoned());
+        assertTrue(dispatcher.getInFlight().isEmpty());
+        verify(transitionBuffer, never()).submit(anyLong(), any(), any(), any());
+    }
+
+    @Test
+    void testDispatchIdleWithoutOwnedPartitions() {
+        when(partitionService.getOwnedPartitions()).thenReturn(Set.of());
+
+        dispatcher.dispatch();
+
+        verify(jobRepository, never()).findDispatchableIds(any(), anyCollection(), anyCollection(), anyInt(), any(),
+                any());
+    }
+
+    @Test
+    void testPausedDispatcherClaimsNothing() {
+        dispatcher.pause();
+
+        dispatcher.dispatch();
+
+        verify(jobRepository, never()).findDispatchableIds(any(), anyCollection(), anyCollection(), anyInt(),
+                any(), any());
+        verify(jobRepository, never()).transition(anyLong(), any(), any());
+    }
+
+    @Test
+    void testBatchHandlerGetsClaimedJobsTogether() throws Exception {
+        dispatcher = newBatchDispatcher();
+        // First claim from the poll, one more job becomes due while the batch lingers
+        when(jobRepository.findDispatchableIds(eq(JobState.QUEUED), eq(Set.of("bulk")), anyCollection(), eq(2),
+                any(LocalDateTime.class), any(Pageable.class)))
+                .thenReturn(List.of(1L, 2L, 3L)).thenReturn(List.of(4L)).thenReturn(List.of());
+        when(bulkHandler.execute(anyList())).thenReturn(Set.of(2L));
+
+        dispatcher.dispatch();
+
+        verify(transitionBuffer, timeout(1000)).submitBatch("bulk", JobState.RUNNING, Map.of(
+                1L, JobState.SUCCESS, 2L, JobState.FAILED, 3L, JobState.SUCCESS, 4L, JobState.SUCCESS));
+        verify(bulkHandler, times(1)).execute(argThat(jobs -> jobs.size() == 4));
+        verify(jobStatistics, times(4)).onTransition("bulk", JobState.QUEUED, JobState.RUNNING);
+        assertTrue(dispatcher.awaitIdle(1000));
+    }
+
+    @Test
+    void testThrowingBatchHandlerFailsWholeBatch() throws Exception {
+        dispatcher = newBatchDispatcher();
+        when(jobRepository.findDispatchableIds(eq(JobState.QUEUED), eq(Set.of("bulk")), anyCollection(), eq(2),
+                any(LocalDateTime.class), any(Pageable.class)))
+                .thenReturn(List.of(1L, 2L)).thenReturn(List.of());
+        when(bulkHandler.execute(anyList())).thenThrow(new IllegalStateException("smtp down"));
+
+        dispatcher.dispatch();
+
+        verify(transitionBuffer, timeout(1000)).submitBatch("bulk", JobState.RUNNING,
+                Map.of(1L, JobState.FAILED, 2L, JobState.FAILED));
+    }
+
+    @Test
+    void testBatchHandlerReturningNullSucceedsWholeBatch() throws Exception {
+        dispatcher = newBatchDispatcher();
+        when(jobRepository.findDispatchableIds(eq(JobState.QUEUED), eq(Set.of("bulk")), anyCollection(), eq(2),
+                any(LocalDateTime.class), any(Pageable.class)))
+                .thenReturn(List.of(1L, 2L)).thenReturn(List.of());
+        when(bulkHandler.execute(anyList())).thenReturn(null);
+
+        dispatcher.dispatch();
+
+        verify(transitionBuffer, timeout(1000)).submitBatch("bulk", JobState.RUNNING,
+                Map.of(1L, JobState.SUCCESS, 2L, JobState.SUCCESS));
+    }
+
+    @Test
+    void testTypeWithBothHandlersIsRejected() {
+        when(handlerProvider.orderedStream()).thenReturn(Stream.of(emailHandler));
+        when(bulkHandler.getType()).thenReturn("email");
+        when(batchHandlerProvider.orderedStream()).thenReturn(Stream.of(bulkHandler));
+
+        assertThrows(IllegalStateException.class, this::newDispatcher);
+    }
+
+    @Test
+    void testIndexedDispatchClaimsByPriorityWithoutQuerying() throws Exception {
+        dispatcher.shutdown();
+        dispatcher = newDispatcher(true);
+        // Page size is 2, so the first load takes two pages
+        when(jobRepository.findSummariesAfter(eq(JobState.QUEUED), anyCollection(), anyCollection(), eq(2), eq(0L),
+                any(Pageable.class))).thenReturn(List.of(
+                new JobSummaryDto(1L, "email", JobState.QUEUED, 1, null),
+                new JobSummaryDto(2L, "email", JobState.QUEUED, 5, LocalDateTime.now().plusHours(1))));
+        when(jobRepository.findSummariesAfter(eq(JobState.QUEUED), anyCollection(), anyCollection(), eq(2), eq(2L),
+                any(Pageable.class))).thenReturn(List.of(
+                new JobSummaryDto(3L, "email", JobState.QUEUED, 3, LocalDateTime.now().minusMinutes(1))));
+        when(jobRepository.transition(anyLong(), eq(JobState.QUEUED), eq(JobState.RUNNING))).thenReturn(1);
+        when(jobRepository.findById(anyLong())).thenAnswer(invocation -> Optional.of(job(invocation.getArgument(0))));
+
+        dispatcher.dispatch();
+
+        verify(emailHandler, timeout(1000).times(2)).execute(any(Job.class));
+        verify(jobRepository).transition(3L, JobState.QUEUED, JobState.RUNNING);
+        verify(jobRepository).transition(1L, JobState.QUEUED, JobState.RUNNING);
+        verify(jobRepository, never()).transition(2L, JobState.QUEUED, JobState.RUNNING);
+        verify(jobRepository, never()).findDispatchableIds(any(), anyCollection(), anyCollection(), anyInt(),
+                any(), any());
+        // Job 2 is not due yet and stays indexed
+        assertEquals(1, dispatcher.getIndexedCount());
+    }
+
+    @Test
+    void testIndexedDispatchSkipsStaleEntries() throws Exception {
+        dispatcher.shutdown();
+        dispatcher = newDispatcher(true);
+        when(jobRepository.findSummariesAfter(eq(JobState.QUEUED), anyCollection(), anyCollection(), eq(2), eq(0L),
+                any(Pageable.class))).thenReturn(List.of(new JobSummaryDto(1L, "email", JobState.QUEUED, 1, null)));
+        // Deleted or claimed elsewhere since it was indexed
+        when(jobRepository.transition(1L, JobState.QUEUED, JobState.RUNNING)).thenReturn(0);
+
+        dispatcher.dispatch();
+
+        verify(emailHandler, after(200).never()).execute(any(Job.class));
+        assertEquals(0, dispatcher.getIndexedCount());
+    }
+
+    @Test
+    void testIndexFollowsChangedJobs() throws Exception {
+        dispatcher.shutdown();
+        dispatcher = newDispatcher(true);
+        LocalDateTime later = LocalDateTime.now().plusHours(1);
+        LocalDateTime lastChange = LocalDateTime.now().minusSeconds(5);
+        when(jobRepository.findLastUpdatedAt()).thenReturn(Optional.of(lastChange));
+        when(jobRepository.findSummariesAfter(eq(JobState.QUEUED), anyCollection(), anyCollection(), eq(2), eq(0L),
+                any(Pageable.class))).thenReturn(List.of(
+                new JobSummaryDto(1L, "email", JobState.QUEUED, 1, later),
+                new JobSummaryDto(3L, "email", JobState.QUEUED, 1, later))).thenReturn(List.of());
+        // Job 1 was reprioritized and made due, job 3 claimed by another node
+        LocalDateTime changedAt = lastChange.plusSeconds(1);
+        when(jobRepository.findChangesSince(anyCollection(), anyCollection(), eq(2), any(LocalDateTime.class),
+                anyLong(), any(Pageable.class))).thenReturn(List.of()).thenReturn(List.of(
+                new JobChangeDto(1L, "email", JobState.QUEUED, 9, null, changedAt),
+                new JobChangeDto(3L, "email", JobState.RUNNING, 1, later, changedAt))).thenReturn(List.of());
+        when(jobRepository.transition(anyLong(), eq(JobState.QUEUED), eq(JobState.RUNNING))).thenReturn(1);
+        when(jobRepository.findById(anyLong())).thenAnswer(invocation -> Optional.of(job(invocation.getArgument(0))));
+
+        dispatcher.dispatch();
+        assertEquals(2, dispatcher.getIndexedCount());
+        verify(jobRepository).findChangesSince(anyCollection(), anyCollection(), eq(2),
+                eq(lastChange.minusSeconds(60)), eq(0L), any(Pageable.class));
+
+        dispatcher.dispatch();
+
+        verify(emailHandler, timeout(1000)).execute(any(Job.class));
+        verify(jobRepository).transition(1L, JobState.QUEUED, JobState.RUNNING);
+        assertEquals(0, dispatcher.getIndexedCount());
+        // Loaded once, in two pages; afterwards only changes are read
+        verify(jobRepository, times(2)).findSummariesAfter(any(), anyCollection(), anyCollection(), anyInt(),
+                anyLong(), any());
+    }
+
+    @Test
+    void testIndexDoesNotRereadAppliedChanges() {
+        dispatcher.shutdown();
+        dispatcher = newDispatcher(true);
+        LocalDateTime lastChange = LocalDateTime.now().minusSeconds(5);
+        LocalDateTime changedAt = lastChange.plusSeconds(1);
+        when(jobRepository.findLastUpdatedAt()).thenReturn(Optional.of(lastChange));
+        when(jobRepository.findChangesSince(anyCollection(), anyCollection(), eq(2), eq(lastChange.minusSeconds(60)),
+                eq(0L), any(Pageable.class))).thenReturn(List.of(
+                new JobChangeDto(5L, "email", JobState.QUEUED, 1, LocalDateTime.now().plusHours(1), changedAt)));
+
+        dispatcher.dispatch();
+        dispatcher.dispatch();
+
+        // The second poll only reads past the change the first one applied
+        verify(jobRepository, times(1)).findChangesSince(anyCollection(), anyCollection(), eq(2),
+                eq(lastChange.minusSeconds(60)), eq(0L), any(Pageable.class));
+        verify(jobRepository, times(1)).findChangesSince(anyCollection(), anyCollection(), eq(2), eq(changedAt),
+                eq(5L), any(Pageable.class));
+        verify(jobRepository, times(2)).findChangesSince(anyCollection(), anyCollection(), anyInt(), any(),
+                anyLong(), any());
+        assertEquals(1, dispatcher.getIndexedCount());
+    }
+
+    @Test
+    void testIndexLoadsOnlyGainedPartitions() {
+        dispatcher.shutdown();
+        dispatcher = newDispatcher(true);
+        LocalDateTime later = LocalDateTime.now().plusHours(1);
+        when(partitionService.getOwnedPartitions()).thenReturn(Set.of(0)).thenReturn(Set.of(0, 1))
+                .thenReturn(Set.of(1));
+        when(jobRepository.findSummariesAfter(eq(JobState.QUEUED), anyCollection(), eq(Set.of(0)), eq(2), eq(0L),
+                any(Pageable.class))).thenReturn(List.of(new JobSummaryDto(2L, "email", JobState.QUEUED, 1, later)));
+        when(jobRepository.findSummariesAfter(eq(JobState.QUEUED), anyCollection(), eq(Set.of(1)), eq(2), eq(0L),
+                any(Pageable.class))).thenReturn(List.of(new JobSummaryDto(3L, "email", JobState.QUEUED, 1, later)));
+
+        dispatcher.dispatch();
+        assertEquals(1, dispatcher.getIndexedCount());
+        dispatcher.dispatch();
+        assertEquals(2, dispatcher.getIndexedCount());
+        dispatcher.dispatch();
+
+        // Partition 0 went away, nothing was reloaded
+        assertEquals(1, dispatcher.getIndexedCount());
+        verify(jobRepository, times(2)).findSummariesAfter(any(), anyCollection(), anyCollection(), anyInt(),
+                anyLong(), any());
+        verify(jobRepository, times(1)).findLastUpdatedAt();
+    }
+
+    @Test
+    void testIndexStartsFromSnapshot(@TempDir Path directory) throws Exception {
+        indexSnapshot = new PendingJobIndexSnapshot(directory.resolve("index.snapshot").toString(), 3600000);
+        PendingJobIndex saved = new PendingJobIndex();
+        saved.add(1L, "email", 1, PendingJobIndex.UNSCHEDULED);
+        saved.add(2L, "email", 5, LocalDateTime.now().plusHours(1).toInstant(ZoneOffset.UTC).toEpochMilli());
+        LocalDateTime watermark = LocalDateTime.of(2025, 1, 27, 10, 30);
+        indexSnapshot.write(saved, watermark, LocalDateTime.now(), 2, Set.of(0, 1), Set.of("email"));
+        dispatcher.shutdown();
+        dispatcher = newDispatcher(true);
+        // Since the snapshot job 4 was retried, job 6 created and job 2 finished elsewhere
+        LocalDateTime changedAt = watermark.plusMinutes(1);
+        when(jobRepository.findChangesSince(anyCollection(), anyCollection(), eq(2), eq(watermark.minusSeconds(60)),
+                eq(0L), any(Pageable.class))).thenReturn(List.of(
+                new JobChangeDto(4L, "email", JobState.QUEUED, 9, null, changedAt),
+                new JobChangeDto(2L, "email", JobState.SUCCESS, 5, null, changedAt),
+                new JobChangeDto(6L, "email", JobState.QUEUED, 3, null, changedAt)));
+        when(jobRepository.transition(anyLong(), eq(JobState.QUEUED), eq(JobState.RUNNING))).thenReturn(1);
+        when(jobRepository.findById(anyLong())).thenAnswer(invocation -> Optional.of(job(invocation.getArgument(0))));
+
+        dispatcher.dispatch();
+
+        verify(emailHandler, timeout(1000).times(2)).execute(any(Job.class));
+        verify(jobRepository).transition(4L, JobState.QUEUED, JobState.RUNNING);
+        verify(jobRepository).transition(6L, JobState.QUEUED, JobState.RUNNING);
+        verify(jobRepository, never()).findSummariesAfter(any(), anyCollection(), anyCollection(), anyInt(),
+                anyLong(), any());
+        // Job 1 came from the snapshot and was not claimed with only two workers
+        assertEquals(1, dispatcher.getIndexedCount());
+    }
+
+    @Test
+    void testJobRequeuedOnShutdownRunsAfterRestart(@TempDir Path directory) throws Exception {
+        indexSnapshot = new PendingJobIndexSnapshot(directory.resolve("index.snapshot").toString(), 3600000);
+        dispatcher.shutdown();
+        dispatcher = newDispatcher(true);
+        LocalDateTime lastChange = LocalDateTime.of(2025, 1, 27, 10, 30);
+        when(jobRepository.findLastUpdatedAt()).thenReturn(Optional.of(lastChange));
+        when(jobRepository.findSummariesAfter(eq(JobState.QUEUED), anyCollection(), anyCollection(), eq(2), eq(0L),
+                any(Pageable.class))).thenReturn(List.of(new JobSummaryDto(7L, "email", JobState.QUEUED, 1, null)));
+        when(jobRepository.transition(7L, JobState.QUEUED, JobState.RUNNING)).thenReturn(1);
+        when(jobRepository.findById(7L)).thenReturn(Optional.of(job(7L)));
+        when(jobRepository.requeueAll(anyCollection(), eq(JobState.RUNNING), eq(JobState.QUEUED),
+                any(LocalDateTime.class))).thenReturn(1);
+        // The first run outlives the grace period and gives up when interrupted, the second one finishes
+        doAnswer(invocation -> {
+            Thread.sleep(10_000);
+            return null;
+        }).doNothing().when(emailHandler).execute(any(Job.class));
+        dispatcher.dispatch();
+        verify(emailHandler, timeout(1000)).execute(any(Job.class));
+
+        new JobLifecycleManager(dispatcher, transitionBuffer, jobRepository, jobStatistics, 50, 1000).stop();
+
+        verify(jobRepository).requeueAll(eq(Set.of(7L)), eq(JobState.RUNNING), eq(JobState.QUEUED),
+                any(LocalDateTime.class));
+        // After the restart the requeue shows up as a change past the snapshot's watermark
+        dispatcher = newDispatcher(true);
+        when(jobRepository.findChangesSince(anyCollection(), anyCollection(), eq(2), eq(lastChange.minusSeconds(60)),
+                eq(0L), any(Pageable.class)))
+                .thenReturn(List.of(new JobChangeDto(7L, "email", JobState.QUEUED, 1, null, lastChange.plusSeconds(1))));
+
+        dispatcher.dispatch();
+
+        verify(emailHandler, timeout(1000).times(2)).execute(any(Job.class));
+        verify(transitionBuffer, timeout(1000)).submit(7L, "email", JobState.RUNNING, JobState.SUCCESS);
+        verify(jobRepository, times(1)).findSummariesAfter(any(), anyCollection(), anyCollection(), anyInt(),
+                anyLong(), any());
+    }
+
+    @Test
+    void testIndexLoadsPartitionsMissingFromSnapshot(@TempDir Path directory) throws Exception {
+        indexSnapshot = new PendingJobIndexSnapshot(directory.resolve("index.snapshot").toString(), 3600000);
+        PendingJobIndex saved = new PendingJobIndex();
+        saved.add(2L, "email", 1, LocalDateTime.now().plusHours(1).toInstant(ZoneOffset.UTC).toEpochMilli());
+        indexSnapshot.write(saved, LocalDateTime.now(), LocalDateTime.now(), 2, Set.of(0), Set.of("email"));
+        dispatcher.shutdown();
+        dispatcher = newDispatcher(true);
+        when(jobRepository.findSummariesAfter(eq(JobState.QUEUED), anyCollection(), eq(Set.of(1)), eq(2), eq(0L),
+                any(Pageable.class))).thenReturn(List.of(
+                new JobSummaryDto(3L, "email", JobState.QUEUED, 1, LocalDateTime.now().plusHours(1))));
+
+        dispatcher.dispatch();
+
+        assertEquals(2, dispatcher.getIndexedCount());
+        verify(jobRepository, times(1)).findSummariesAfter(any(), anyCollection(), anyCollection(), anyInt(),
+                anyLong(), any());
+        verify(jobRepository, never()).findLastUpdatedAt();
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.job_management;
+
+import com.example.job_management.Common.JobState;
+import com.example.job_management.repository.JobRepository;
+import com.example.job_management.service.JobDispatcher;
+import com.example.job_management.service.JobLifecycleManager;
+import com.example.job_management.service.JobStatistics;
+import com.example.job_management.service.TransitionBuffer;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class JobLifecycleManagerTest {
+
+    @Mock
+    private JobDispatcher jobDispatcher;
+
+    @Mock
+    private TransitionBuffer transitionBuffer;
+
+    @Mock
+    private JobRepository jobRepository;
+
+    @Mock
+    private JobStatistics jobStatistics;
+
+    private JobLifecycleManager lifecycleManager;
+
+    @BeforeEach
+    void setUp() {
+        lifecycleManager = new JobLifecycleManager(jobDispatcher, transitionBuffer, jobRepository, jobStatistics,
+                100, 50);
+        lifecycleManager.start();
+    }
+
+    @Test
+    void testStopDrainsWithoutRequeueWhenIdle() throws Exception {
+        when(jobDispatcher.awaitIdle(100)).thenReturn(true);
+        when(jobDispatcher.stopWorkers(50)).thenReturn(true);
+        when(jobDispatcher.getAbandoned()).thenReturn(Map.of());
+
+        lifecycleManager.stop();
+
+        InOrder inOrder = inOrder(jobDispatcher, transitionBuffer);
+        inOrder.verify(jobDispatcher).pause();
+        inOrder.verify(jobDispatcher).awaitIdle(100);
+        inOrder.verify(jobDispatcher).stopWorkers(50);
+        inOrder.verify(transitionBuffer).flush();
+        inOrder.verify(jobDispatcher).writeIndexSnapshot();
+        verify(jobRepository, never()).requeueAll(anyCollection(), any(), any(), any());
+        assertFalse(lifecycleManager.isRunning());
+    }
+
+    @Test
+    void testStopRequeuesAbandonedJobsAfterInterruptingWorkers() throws Exception {
+        when(jobDispatcher.awaitIdle(100)).thenReturn(false);
+        when(jobDispatcher.stopWorkers(50)).thenReturn(true);
+        when(jobDispatcher.getAbandoned()).thenReturn(Map.of(1L, "email", 2L, "report"));
+        when(jobRepository.requeueAll(anyCollection(), eq(JobState.RUNNING), eq(JobState.QUEUED),
+                any(LocalDateTime.class))).thenReturn(2);
+
+        lifecycleManager.stop();
+
+        InOrder inOrder = inOrder(transitionBuffer, jobRepository, jobDispatcher);
+        inOrder.verify(jobDispatcher).stopWorkers(50);
+        inOrder.verify(transitionBuffer).flush();
+        inOrder.verify(jobRepository).requeueAll(argThat(ids -> ids.size() == 2 && ids.containsAll(List.of(1L, 2L))),
+                eq(JobState.RUNNING), eq(JobState.QUEUED), any(LocalDateTime.class));
+        verify(jobStatistics).onTransition("email", JobState.RUNNING, JobState.QUEUED);
+        verify(jobStatistics).onTransition("report", JobState.RUNNING, JobState.QUEUED);
+        verify(jobStatistics, never()).markStale();
+    }
+
+    @Test
+    void testPartialRequeueMarksStatisticsStale() throws Exception {
+        when(jobDispatcher.awaitIdle(100)).thenReturn(false);
+        when(jobDispatcher.stopWorkers(50)).thenReturn(false);
+        when(jobDispatcher.getAbandoned()).thenReturn(Map.of(1L, "email", 2L, "email"));
+        when(jobRepository.requeueAll(anyCollection(), any(), any(), any(LocalDateTime.class))).thenReturn(1);
+
+        lifecycleManager.stop();
+
+        verify(jobStatistics).markStale();
+        verify(jobStatistics, never()).onTransition(any(), any(), any());
+    }
+}
@@ -0,0 +1,232 @@
+package com.example.job_management;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Open-loop load test of the job API. Requests are started on a fixed schedule
+ * derived from the target rate, whether or not earlier requests have completed,
+ * and latency is measured from the time a request was due to be sent. A slow
+ * server therefore shows up as higher latency instead of a lower request rate
+ * (no coordinated omission).
+ *
+ * <p>Run with {@code mvn test -Pload-test}; tune with {@code -Dload.rps},
+ * {@code -Dload.duration} and {@code -Dload.warmup} (seconds), {@code -Dload.mix}
+ * (e.g. {@code create=30,bulk=5,status=45,retry=10,delete=10}),
+ * {@code -Dload.bulk-size} and {@code -Dload.max-p99-ms} to fail on regressions.
+ * Any {@code spring.datasource.*} property can be passed the same way to run
+ * against PostgreSQL instead of the embedded H2 database.
+ */
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class JobLoadTest {
+
+    private static final Pattern ID = Pattern.compile("\"id\":(\\d+)");
+
+    private enum Operation {
+        CREATE, BULK, STATUS, RETRY, DELETE
+    }
+
+    @LocalServerPort
+    private int port;
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final Map<Operation, Histogram> latencies = new EnumMap<>(Operation.class);
+    private final Map<Operation, LongAdder> errors = new EnumMap<>(Operation.class);
+    private final AtomicLong maxId = new AtomicLong();
+    private final LongAdder outstanding = new LongAdder();
+    private final AtomicLong maxSendLagNanos = new AtomicLong();
+
+    private Operation[] schedule;
+    private int bulkSize;
+
+    @Test
+    void openLoopTrafficMix() throws Exception {
+        int rps = Integer.getInteger("load.rps", 100);
+        long warmupSeconds = Long.getLong("load.warmup", 5);
+        long durationSeconds = Long.getLong("load.duration", 30);
+        bulkSize = Integer.getInteger("load.bulk-size", 50);
+        schedule = parseMix(System.getProperty("load.mix", "create=30,bulk=5,status=45,retry=10,delete=10"));
+        for (Operation operation : Operation.values()) {
+            latencies.put(operation, new ConcurrentHistogram(TimeUnit.MINUTES.toMicros(1), 3));
+            errors.put(operation, new LongAdder());
+        }
+
+        for (int i = 0; i < 10; i++) {
+            HttpResponse<String> response = client.send(request(Operation.BULK), HttpResponse.BodyHandlers.ofString());
+            assertEquals(201, response.statusCode());
+            trackIds(response.body());
+        }
+
+        drive(rps, warmupSeconds);
+        awaitOutstanding();
+        latencies.values().forEach(Histogram::reset);
+        errors.values().forEach(LongAdder::reset);
+        maxSendLagNanos.set(0);
+
+        long started = System.nanoTime();
+        drive(rps, durationSeconds);
+        awaitOutstanding();
+        double elapsedSeconds = (System.nanoTime() - started) / 1e9;
+
+        String report = report(rps, elapsedSeconds);
+        System.out.println(report);
+        Files.writeString(Path.of("target", "load-test-report.txt"), report);
+
+        long totalErrors = errors.values().stream().mapToLong(LongAdder::sum).sum();
+        assertEquals(0, totalErrors, "requests failed or answered 5xx");
+        Histogram all = combined();
+        String maxP99 = System.getProperty("load.max-p99-ms");
+        if (maxP99 != null) {
+            assertTrue(all.getValueAtPercentile(99) / 1000.0 <= Double.parseDouble(maxP99),
+                    "p99 latency above " + maxP99 + " ms");
+        }
+    }
+
+    private void drive(int rps, long seconds) {
+        long count = rps * seconds;
+        long start = System.nanoTime();
+        for (long i = 0; i < count; i++) {
+            long intended = start + (long) (i * 1e9 / rps);
+            long wait;
+            while ((wait = intended - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            maxSendLagNanos.accumulateAndGet(System.nanoTime() - intended, Math::max);
+            Operation operation = schedule[ThreadLocalRandom.current().nextInt(schedule.length)];
+            send(operation, intended);
+        }
+    }
+
+    private void send(Operation operation, long intended) {
+        outstanding.increment();
+        client.sendAsync(request(operation), HttpResponse.BodyHandlers.ofString())
+                .whenComplete((response, failure) -> {
+                    try {
+                        long micros = (System.nanoTime() - intended) / 1000;
+                        latencies.get(operation).recordValue(Math.min(micros, TimeUnit.MINUTES.toMicros(1)));
+                        if (failure != null || response.statusCode() >= 500) {
+                            errors.get(operation).increment();
+                        } else if (operation == Operation.CREATE || operation == Operation.BULK) {
+                            trackIds(response.body());
+                        }
+                    } finally {
+                        outstanding.decrement();
+                    }
+                });
+    }
+
+    private HttpRequest request(Operation operation) {
+        String base = "http://localhost:" + port + "/api/jobs";
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long id = 1 + random.nextLong(Math.max(1, maxId.get()));
+        HttpRequest.Builder builder = HttpRequest.newBuilder().timeout(Duration.ofSeconds(30));
+        return switch (operation) {
+            case CREATE -> builder.uri(URI.create(base)).header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(jobJson(random))).build();
+            case BULK -> {
+                StringBuilder body = new StringBuilder("[");
+                for (int i = 0; i < bulkSize; i++) {
+                    body.append(i == 0 ? "" : ",").append(jobJson(random));
+                }
+                yield builder.uri(URI.create(base + "/bulk")).header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(body.append("]").toString())).build();
+            }
+            case STATUS -> builder.uri(URI.create(base + "/status/" + id)).GET().build();
+            case RETRY -> builder.uri(URI.create(base + "/retry/" + id))
+                    .method("PATCH", HttpRequest.BodyPublishers.noBody()).build();
+            case DELETE -> builder.uri(URI.create(base + "/" + id)).DELETE().build();
+        };
+    }
+
+    private static String jobJson(ThreadLocalRandom random) {
+        return "{\"type\":\"load-" + random.nextInt(8) + "\",\"priority\":" + random.nextInt(10) + "}";
+    }
+
+    private void trackIds(String body) {
+        Matcher matcher = ID.matcher(body);
+        while (matcher.find()) {
+            long id = Long.parseLong(matcher.group(1));
+            maxId.accumulateAndGet(id, Math::max);
+        }
+    }
+
+    private void awaitOutstanding() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(60);
+        while (outstanding.sum() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+
+    private static Operation[] parseMix(String mix) {
+        Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+        for (String part : mix.split(",")) {
+            String[] entry = part.trim().split("=");
+            weights.put(Operation.valueOf(entry[0].trim().toUpperCase()), Integer.parseInt(entry[1].trim()));
+        }
+        int total = weights.values().stream().mapToInt(Integer::intValue).sum();
+        Operation[] schedule = new Operation[total];
+        int i = 0;
+        for (Map.Entry<Operation, Integer> weight : weights.entrySet()) {
+            for (int n = 0; n < weight.getValue(); n++) {
+                schedule[i++] = weight.getKey();
+            }
+        }
+        return schedule;
+    }
+
+    private Histogram combined() {
+        Histogram all = new Histogram(TimeUnit.MINUTES.toMicros(1), 3);
+        latencies.values().forEach(all::add);
+        return all;
+    }
+
+    private String report(int rps, double elapsedSeconds) throws IOException {
+        StringBuilder report = new StringBuilder();
+        report.append(String.format("Target %d req/s, sender lag max %.2f ms%n", rps, maxSendLagNanos.get() / 1e6));
+        report.append(String.format("%-8s %8s %9s %9s %9s %9s %9s %9s %7s%n",
+                "op", "count", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms", "errors"));
+        for (Operation operation : Operation.values()) {
+            row(report, operation.name().toLowerCase(), latencies.get(operation), errors.get(operation).sum(),
+                    elapsedSeconds);
+        }
+        row(report, "all", combined(), errors.values().stream().mapToLong(LongAdder::sum).sum(), elapsedSeconds);
+        return report.toString();
+    }
+
+    private static void row(StringBuilder report, String name, Histogram histogram, long errorCount,
+            double elapsedSeconds) {
+        report.append(String.format("%-8s %8d %9.1f %9.2f %9.2f %9.2f %9.2f %9.2f %7d%n", name,
+                histogram.getTotalCount(), histogram.getTotalCount() / elapsedSeconds,
+                histogram.getValueAtPercentile(50) / 1000.0, histogram.getValueAtPercentile(90) / 1000.0,
+                histogram.getValueAtPercentile(99) / 1000.0, histogram.getValueAtPercentile(99.9) / 1000.0,
+                histogram.getMaxValue() / 1000.0, errorCount));
+    }
+}
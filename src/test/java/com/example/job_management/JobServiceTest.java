@@ -2,15 +2,22 @@ package com.example.job_management;
 
 import com.example.job_management.Common.JobState;
 import com.example.job_management.dto.JobDto;
+import com.example.job_management.dto.JobSummaryDto;
+import com.example.job_management.dto.JobValidationErrorDto;
 import com.example.job_management.model.Job;
 import com.example.job_management.repository.JobRepository;
+import com.example.job_management.service.JobAdmission;
 import com.example.job_management.service.JobService;
+import com.example.job_management.service.JobStatistics;
+import com.example.job_management.service.JobTracing;
+import com.example.job_management.service.JobValidationPipeline;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.time.LocalDateTime;
@@ -20,6 +27,7 @@ import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -28,6 +36,18 @@ public class JobServiceTest {
     @Mock
     private JobRepository jobRepository;
 
+    @Mock
+    private JobStatistics jobStatistics;
+
+    @Mock
+    private JobTracing jobTracing;
+
+    @Mock
+    private JobAdmission jobAdmission;
+
+    @Spy
+    private JobValidationPipeline jobValidationPipeline = new JobValidationPipeline(List.of(), 10000);
+
     @InjectMocks
     private JobService jobService;
 
@@ -55,6 +75,18 @@ public class JobServiceTest {
 
         assertNotNull(createdJob);
         verify(jobRepository, times(1)).save(any(Job.class));
+        verify(jobStatistics, times(1)).onCreated(job1);
+    }
+
+    @Test
+    void testEveryQueuedJobGetsQueuedAt() {
+        when(jobRepository.save(any(Job.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Unscheduled jobs start in a random state
+        for (int i = 0; i < 50; i++) {
+            Job created = jobService.createJob(new JobDto("email", null, 1));
+            assertEquals(created.getState() == JobState.QUEUED, created.getQueuedAt() != null);
+        }
     }
 
     @SuppressWarnings("unchecked")
@@ -74,14 +106,27 @@ public class JobServiceTest {
     @Test
     void testGetAllJobs() {
 
-        List<Job> jobs = Arrays.asList(job1, job2);
-        when(jobRepository.findAll()).thenReturn(jobs);
+        List<JobSummaryDto> jobs = Arrays.asList(
+                new JobSummaryDto(1L, "type", JobState.QUEUED, 0, null),
+                new JobSummaryDto(2L, "type", JobState.QUEUED, 0, null));
+        when(jobRepository.findAllSummaries()).thenReturn(jobs);
 
-        List<Job> allJobs = jobService.getAllJobs();
+        List<JobSummaryDto> allJobs = jobService.getAllJobs();
 
         assertNotNull(allJobs);
         assertEquals(2, allJobs.size());
-        verify(jobRepository, times(1)).findAll();
+        verify(jobRepository, times(1)).findAllSummaries();
+        verify(jobRepository, never()).findAll();
+    }
+
+    @Test
+    void testGetJobState() {
+
+        when(jobRepository.findStateById(1L)).thenReturn(Optional.of(JobState.FAILED));
+
+        assertEquals(JobState.FAILED, jobService.getJobState(1L));
+        assertNull(jobService.getJobState(2L));
+        verify(jobRepository, never()).findById(anyLong());
     }
 
     @Test
@@ -108,11 +153,22 @@ public class JobServiceTest {
     }
 
     @Test
-    void testDeleteJob() {
+    void testDeleteJob_updatesStatistics() {
 
-        jobService.deleteJob(1L);
+        jobService.deleteJob(job1);
 
         verify(jobRepository, times(1)).deleteById(1L);
+        verify(jobStatistics, times(1)).onDeleted(job1);
+    }
+
+    @Test
+    void testDeleteLoadedJob_doesNotReadItAgain() {
+
+        jobService.deleteJob(job1);
+
+        verify(jobRepository, times(1)).deleteById(1L);
+        verify(jobRepository, never()).findById(anyLong());
+        verify(jobStatistics, times(1)).onDeleted(job1);
     }
 
     @Test
@@ -168,6 +224,7 @@ public class JobServiceTest {
         jobService.retryJob(1L);
 
         verify(jobRepository, times(1)).save(any(Job.class));
+        verify(jobStatistics, times(1)).onTransition(null, JobState.QUEUED, JobState.QUEUED);
     }
 
     @Test
@@ -175,7 +232,7 @@ public class JobServiceTest {
 
         JobDto jobDto = new JobDto();
         jobDto.setType("type");
-        jobDto.setScheduledTime(LocalDateTime.now());
+        jobDto.setScheduledTime(LocalDateTime.now().plusMinutes(1));
 
         String error = jobService.validateJob(jobDto);
 
@@ -224,15 +281,35 @@ public class JobServiceTest {
 
         JobDto jobDto1 = new JobDto();
         jobDto1.setType("type1");
-        jobDto1.setScheduledTime(LocalDateTime.now());
+        jobDto1.setScheduledTime(LocalDateTime.now().plusMinutes(1));
 
         JobDto jobDto2 = new JobDto();
         jobDto2.setType("type2");
-        jobDto2.setScheduledTime(LocalDateTime.now());
+        jobDto2.setScheduledTime(LocalDateTime.now().plusMinutes(1));
 
-        String error = jobService.validateJobs(Arrays.asList(jobDto1, jobDto2));
+        List<JobValidationErrorDto> errors = jobService.validateJobs(Arrays.asList(jobDto1, jobDto2));
 
-        assertNull(error);
+        assertTrue(errors.isEmpty());
+    }
+
+    @Test
+    void testValidateJobs_reportsEveryInvalidJob() {
+
+        JobDto valid = new JobDto("type", null, 1);
+        JobDto invalidType = new JobDto("", null, 1);
+        JobDto invalidPriority = new JobDto("type", null, -1);
+        JobDto pastSchedule = new JobDto("type", LocalDateTime.now().minusDays(1), 1);
+
+        List<JobValidationErrorDto> errors = jobService
+                .validateJobs(Arrays.asList(invalidType, valid, invalidPriority, valid, pastSchedule));
+
+        assertEquals(3, errors.size());
+        assertEquals(0, errors.get(0).getIndex());
+        assertEquals("Invalid job type", errors.get(0).getMessage());
+        assertEquals(2, errors.get(1).getIndex());
+        assertEquals("Invalid job priority", errors.get(1).getMessage());
+        assertEquals(4, errors.get(2).getIndex());
+        assertEquals("Scheduled time cannot be in the past", errors.get(2).getMessage());
     }
 
 }
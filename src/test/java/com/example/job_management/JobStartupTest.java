@@ -0,0 +1,123 @@
+package com.example.job_management;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.jar.JarFile;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Measures the startup time of the packaged application the way it is deployed, as
+ * separate JVMs, and compares the plain fat jar ({@code java -jar app.jar}) with the
+ * production setup from the Dockerfile: extracted jar, AppCDS archive, AOT-generated
+ * bean definitions and the {@code prod} profile. The time compared is the
+ * "process running for" value Spring Boot logs once the application is ready, so JVM
+ * startup and class loading are included.
+ *
+ * <p>Needs a jar built with the prod profile: {@code mvn -Pprod package -DskipTests},
+ * then {@code mvn test -Pstartup-test}. Tune with {@code -Dstartup.runs} and
+ * {@code -Dstartup.jar}.
+ */
+@Tag("startup")
+class JobStartupTest {
+
+    private static final Pattern STARTED = Pattern.compile(
+            "Started JobManagementApplication in [\\d.]+ seconds \\(process running for ([\\d.]+)\\)");
+    private static final String AOT_INITIALIZER =
+            "BOOT-INF/classes/com/example/job_management/JobManagementApplication__ApplicationContextInitializer.class";
+
+    private final Path jar = Path.of(System.getProperty("startup.jar", "target/job-management-0.0.1-SNAPSHOT.jar"));
+    private final int runs = Integer.getInteger("startup.runs", 5);
+    private final Path workDir = Path.of("target", "startup");
+    private final String java = Path.of(System.getProperty("java.home"), "bin", "java").toString();
+
+    @Test
+    void productionSetupStartsFaster() throws Exception {
+        assumeTrue(Files.exists(jar), "Build the jar first: mvn -Pprod package -DskipTests");
+        try (JarFile jarFile = new JarFile(jar.toFile())) {
+            assumeTrue(jarFile.getEntry(AOT_INITIALIZER) != null, "The jar was not built with -Pprod");
+        }
+
+        Path extracted = workDir.resolve("app");
+        Path archive = workDir.resolve("app.jsa");
+        Files.createDirectories(workDir);
+        exec(List.of(java, "-Djarmode=tools", "-jar", jar.toAbsolutePath().toString(), "extract",
+                "--force", "--destination", extracted.toAbsolutePath().toString()));
+        Path extractedJar = extracted.resolve(jar.getFileName());
+
+        // Training run, same as the Dockerfile: start the context once and dump the loaded classes
+        Files.deleteIfExists(archive);
+        exec(List.of(java, "-XX:ArchiveClassesAtExit=" + archive, "-Dspring.aot.enabled=true",
+                "-Dspring.context.exit=onRefresh", "-jar", extractedJar.toString(),
+                "--spring.profiles.active=prod", "--server.port=0"));
+        assertTrue(Files.exists(archive), "No CDS archive was written");
+
+        List<String> baseline = List.of(java, "-jar", jar.toString(), "--server.port=0");
+        List<String> production = List.of(java, "-XX:SharedArchiveFile=" + archive, "-Dspring.aot.enabled=true",
+                "-jar", extractedJar.toString(), "--spring.profiles.active=prod", "--server.port=0");
+
+        // Alternate the two so that noise from the machine affects both equally
+        double[] baselineTimes = new double[runs];
+        double[] productionTimes = new double[runs];
+        for (int i = 0; i < runs; i++) {
+            baselineTimes[i] = startupSeconds(baseline);
+            productionTimes[i] = startupSeconds(production);
+        }
+        double baselineMedian = median(baselineTimes);
+        double productionMedian = median(productionTimes);
+
+        String report = String.format("runs=%d%nbaseline   median=%.3fs all=%s%nproduction median=%.3fs all=%s%n"
+                        + "improvement=%.1f%%%n", runs, baselineMedian, Arrays.toString(baselineTimes),
+                productionMedian, Arrays.toString(productionTimes),
+                100 * (baselineMedian - productionMedian) / baselineMedian);
+        System.out.print(report);
+        Files.writeString(Path.of("target", "startup-report.txt"), report);
+
+        assertTrue(productionMedian < baselineMedian, report);
+    }
+
+    private double startupSeconds(List<String> command) throws IOException, InterruptedException {
+        Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream()))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                Matcher matcher = STARTED.matcher(line);
+                if (matcher.find()) {
+                    return Double.parseDouble(matcher.group(1));
+                }
+            }
+            fail("Application exited before it started: " + command);
+            return 0;
+        } finally {
+            process.destroy();
+            if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+            }
+        }
+    }
+
+    private void exec(List<String> command) throws IOException, InterruptedException {
+        Process process = new ProcessBuilder(command).redirectErrorStream(true)
+                .redirectOutput(workDir.resolve("exec.log").toFile()).start();
+        assertTrue(process.waitFor(5, TimeUnit.MINUTES), "Timed out: " + command);
+    }
+
+    private static double median(double[] values) {
+        double[] sorted = values.clone();
+        Arrays.sort(sorted);
+        int middle = sorted.length / 2;
+        return sorted.length % 2 == 1 ? sorted[middle] : (sorted[middle - 1] + sorted[middle]) / 2;
+    }
+}
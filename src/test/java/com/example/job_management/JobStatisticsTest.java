@@ -0,0 +1,83 @@
+package com.example.job_management;
+
+import com.example.job_management.Common.JobState;
+import com.example.job_management.dto.JobCountDto;
+import com.example.job_management.dto.JobStatsDto;
+import com.example.job_management.model.Job;
+import com.example.job_management.repository.JobRepository;
+import com.example.job_management.service.JobStatistics;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class JobStatisticsTest {
+
+    private JobRepository jobRepository;
+    private JobStatistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        jobRepository = mock(JobRepository.class);
+        statistics = new JobStatistics(jobRepository, 60000);
+    }
+
+    @Test
+    void testCountersFollowCreateTransitionAndDelete() {
+        Job email = new Job("email", JobState.QUEUED, 1, null);
+        Job report = new Job("report", JobState.QUEUED, 2, null);
+
+        statistics.onCreated(email);
+        statistics.onCreated(report);
+        statistics.onTransition("email", JobState.QUEUED, JobState.RUNNING);
+        statistics.onTransition("email", JobState.RUNNING, JobState.SUCCESS);
+        report.setState(JobState.QUEUED);
+        statistics.onDeleted(report);
+
+        JobStatsDto stats = statistics.snapshot();
+        assertEquals(1, stats.getTotal());
+        assertEquals(0, stats.getByState().get(JobState.QUEUED));
+        assertEquals(1, stats.getByState().get(JobState.SUCCESS));
+        assertEquals(1, stats.getByType().get("email").get(JobState.SUCCESS));
+        assertEquals(0, stats.getByType().get("report").get(JobState.QUEUED));
+        assertEquals(1, stats.getByPriority().get(1));
+        assertEquals(0, stats.getByPriority().get(2));
+        assertEquals(1, statistics.getCount("email", JobState.SUCCESS));
+        assertEquals(0, statistics.getCount("unknown", JobState.SUCCESS));
+    }
+
+    @Test
+    void testReconcileReplacesCounters() {
+        statistics.onCreated(new Job("email", JobState.QUEUED, 1, null));
+        when(jobRepository.countByStateTypeAndPriority()).thenReturn(List.of(
+                new JobCountDto(JobState.QUEUED, "email", 1, 5),
+                new JobCountDto(JobState.FAILED, "email", 3, 2),
+                new JobCountDto(JobState.SUCCESS, "report", 1, 4)));
+
+        statistics.reconcile();
+
+        JobStatsDto stats = statistics.snapshot();
+        assertEquals(11, stats.getTotal());
+        assertEquals(5, statistics.getCount(JobState.QUEUED));
+        assertEquals(2, statistics.getCount("email", JobState.FAILED));
+        assertEquals(9, stats.getByPriority().get(1));
+        assertNotNull(stats.getReconciledAt());
+    }
+
+    @Test
+    void testReconcileIfDueOnlyWhenStaleOrIntervalElapsed() {
+        when(jobRepository.countByStateTypeAndPriority()).thenReturn(List.of());
+
+        statistics.reconcileIfDue();
+        statistics.reconcileIfDue();
+        verify(jobRepository, times(1)).countByStateTypeAndPriority();
+
+        statistics.markStale();
+        statistics.reconcileIfDue();
+        verify(jobRepository, times(2)).countByStateTypeAndPriority();
+    }
+}
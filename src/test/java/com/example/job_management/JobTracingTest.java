@@ -0,0 +1,112 @@
+package com.example.job_management;
+
+import com.example.job_management.model.Job;
+import com.example.job_management.repository.JobRepository;
+import com.example.job_management.service.JobHandler;
+
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.sdk.testing.exporter.InMemorySpanExporter;
+import io.opentelemetry.sdk.trace.SpanProcessor;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SimpleSpanProcessor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "management.tracing.sampling.probability=1.0",
+        "job.dispatcher.poll-interval-ms=100"
+})
+@AutoConfigureMockMvc
+@AutoConfigureObservability(metrics = false)
+public class JobTracingTest {
+
+    private static final InMemorySpanExporter SPANS = InMemorySpanExporter.create();
+
+    @TestConfiguration
+    static class InMemoryTracing {
+
+        // Exports each span synchronously when it ends
+        @Bean
+        SpanProcessor inMemorySpanProcessor() {
+            return SimpleSpanProcessor.create(SPANS);
+        }
+
+        @Bean
+        JobHandler tracedHandler() {
+            return new JobHandler() {
+                @Override
+                public String getType() {
+                    return "traced";
+                }
+
+                @Override
+                public void execute(Job job) {
+                }
+            };
+        }
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JobRepository jobRepository;
+
+    @Test
+    void testExecutionSpanLinksBackToSubmission() throws Exception {
+        String scheduledTime = LocalDateTime.now().plusSeconds(1).toString();
+        mockMvc.perform(post("/api/jobs")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"type\":\"traced\",\"priority\":1,\"scheduledTime\":\"" + scheduledTime + "\"}"))
+                .andExpect(status().isCreated());
+
+        SpanData request = awaitSpan(span -> span.getKind() == SpanKind.SERVER);
+        SpanData execution = awaitSpan(span -> span.getName().equals("job.execution"));
+
+        assertEquals(1, execution.getLinks().size());
+        assertEquals(request.getTraceId(), execution.getLinks().get(0).getSpanContext().getTraceId());
+        assertNotEquals(request.getTraceId(), execution.getTraceId());
+        assertEquals("traced", execution.getAttributes().asMap().entrySet().stream()
+                .filter(entry -> entry.getKey().getKey().equals("job.type"))
+                .map(entry -> entry.getValue().toString())
+                .findFirst().orElse(null));
+
+        // The save ran inside the request, the claim inside the dispatch poll that ran the job
+        List<SpanData> spans = SPANS.getFinishedSpanItems();
+        assertTrue(spans.stream().anyMatch(span -> span.getName().equals("job-repository.save")
+                && span.getTraceId().equals(request.getTraceId())));
+        assertTrue(spans.stream().anyMatch(span -> span.getName().equals("job-repository.transition")
+                && span.getTraceId().equals(execution.getTraceId())));
+
+        Job job = jobRepository.findAll().get(0);
+        assertTrue(job.getTraceParent().startsWith("00-" + request.getTraceId() + "-"));
+    }
+
+    private SpanData awaitSpan(Predicate<SpanData> condition) throws InterruptedException {
+        for (int i = 0; i < 100; i++) {
+            Optional<SpanData> span = SPANS.getFinishedSpanItems().stream().filter(condition).findFirst();
+            if (span.isPresent()) {
+                return span.get();
+            }
+            Thread.sleep(100);
+        }
+        fail("Span not exported");
+        return null;
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.job_management;
+
+import com.example.job_management.dto.JobDto;
+import com.example.job_management.dto.JobValidationErrorDto;
+import com.example.job_management.service.JobValidationPipeline;
+import com.example.job_management.service.JobValidator;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class JobValidationPipelineTest {
+
+    private static class EmailValidator implements JobValidator {
+        private final Set<LocalDateTime> clocks = ConcurrentHashMap.newKeySet();
+
+        @Override
+        public String getType() {
+            return "email";
+        }
+
+        @Override
+        public String validate(JobDto job, LocalDateTime now) {
+            clocks.add(now);
+            return job.getPriority() > 5 ? "Email jobs cannot have a priority above 5" : null;
+        }
+    }
+
+    @Test
+    void testTypeValidatorRunsAfterCommonRules() {
+        JobValidationPipeline pipeline = new JobValidationPipeline(List.of(new EmailValidator()), 10000);
+        LocalDateTime now = LocalDateTime.now();
+
+        assertNull(pipeline.validate(new JobDto("email", null, 5), now));
+        assertEquals("Email jobs cannot have a priority above 5", pipeline.validate(new JobDto("email", null, 6), now));
+        assertNull(pipeline.validate(new JobDto("sms", null, 6), now));
+        assertEquals("Invalid job priority", pipeline.validate(new JobDto("email", null, -1), now));
+        assertEquals("Invalid job", pipeline.validate(null, now));
+    }
+
+    @Test
+    void testParallelValidationReportsEveryErrorInOrderWithOneClock() {
+        EmailValidator emailValidator = new EmailValidator();
+        JobValidationPipeline pipeline = new JobValidationPipeline(List.of(emailValidator), 100);
+        List<JobDto> jobs = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            jobs.add(new JobDto("email", null, i % 10 == 0 ? 9 : 1));
+        }
+
+        List<JobValidationErrorDto> errors = pipeline.validateAll(jobs, LocalDateTime.now());
+
+        assertEquals(500, errors.size());
+        for (int i = 0; i < errors.size(); i++) {
+            assertEquals(i * 10, errors.get(i).getIndex());
+        }
+        assertEquals(1, emailValidator.clocks.size());
+    }
+
+    @Test
+    void testValidBatch() {
+        JobValidationPipeline pipeline = new JobValidationPipeline(List.of(), 1);
+
+        List<JobValidationErrorDto> errors = pipeline.validateAll(
+                List.of(new JobDto("email", LocalDateTime.now().plusHours(1), 1), new JobDto("sms", null, 0)),
+                LocalDateTime.now());
+
+        assertTrue(errors.isEmpty());
+    }
+}
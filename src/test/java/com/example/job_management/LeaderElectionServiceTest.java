@@ -0,0 +1,133 @@
+package com.example.job_management;
+
+import com.example.job_management.model.LeaderLease;
+import com.example.job_management.repository.LeaderLeaseRepository;
+import com.example.job_management.service.LeaderElectionService;
+import com.example.job_management.service.MaintenanceScheduler;
+import com.example.job_management.service.MaintenanceTask;
+import com.example.job_management.service.PartitionService;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class LeaderElectionServiceTest {
+
+    private static final String LEASE = LeaderElectionService.MAINTENANCE_LEASE;
+
+    private LeaderLeaseRepository leaseRepository;
+    private LeaderElectionService leaderElection;
+
+    @BeforeEach
+    void setUp() {
+        leaseRepository = mock(LeaderLeaseRepository.class);
+        PartitionService partitionService = mock(PartitionService.class);
+        when(partitionService.getNodeId()).thenReturn("node-1");
+        when(leaseRepository.existsById(LEASE)).thenReturn(true);
+        leaderElection = new LeaderElectionService(leaseRepository, partitionService, 10000);
+    }
+
+    private void leaseHasToken(long token) {
+        LeaderLease lease = new LeaderLease(LEASE, LocalDateTime.now());
+        lease.setToken(token);
+        when(leaseRepository.findById(LEASE)).thenReturn(Optional.of(lease));
+    }
+
+    @Test
+    void testAcquireExpiredLease() {
+        when(leaseRepository.acquire(eq(LEASE), eq("node-1"), any(), any())).thenReturn(1);
+        leaseHasToken(7);
+
+        leaderElection.elect();
+
+        assertTrue(leaderElection.isLeader());
+        assertEquals(7, leaderElection.getFencingToken());
+    }
+
+    @Test
+    void testLeaseHeldByAnotherNode() {
+        when(leaseRepository.acquire(eq(LEASE), eq("node-1"), any(), any())).thenReturn(0);
+
+        leaderElection.elect();
+
+        assertFalse(leaderElection.isLeader());
+        assertEquals(0, leaderElection.getFencingToken());
+    }
+
+    @Test
+    void testCreatesLeaseRowOnFirstUse() {
+        when(leaseRepository.existsById(LEASE)).thenReturn(false);
+
+        leaderElection.elect();
+
+        verify(leaseRepository, times(1)).saveAndFlush(any(LeaderLease.class));
+    }
+
+    @Test
+    void testRenewKeepsToken() {
+        when(leaseRepository.acquire(eq(LEASE), eq("node-1"), any(), any())).thenReturn(1);
+        leaseHasToken(3);
+        leaderElection.elect();
+        when(leaseRepository.renew(eq(LEASE), eq("node-1"), eq(3L), any())).thenReturn(1);
+
+        leaderElection.elect();
+
+        assertTrue(leaderElection.isLeader());
+        assertEquals(3, leaderElection.getFencingToken());
+        verify(leaseRepository, times(1)).acquire(any(), any(), any(), any());
+    }
+
+    @Test
+    void testFailedRenewStepsDown() {
+        when(leaseRepository.acquire(eq(LEASE), eq("node-1"), any(), any())).thenReturn(1, 0);
+        leaseHasToken(3);
+        leaderElection.elect();
+        when(leaseRepository.renew(eq(LEASE), eq("node-1"), eq(3L), any())).thenReturn(0);
+
+        leaderElection.elect();
+
+        assertFalse(leaderElection.isLeader());
+    }
+
+    @Test
+    void testReleaseExpiresLease() {
+        when(leaseRepository.acquire(eq(LEASE), eq("node-1"), any(), any())).thenReturn(1);
+        leaseHasToken(5);
+        leaderElection.elect();
+
+        leaderElection.release();
+
+        assertFalse(leaderElection.isLeader());
+        verify(leaseRepository, times(1)).renew(eq(LEASE), eq("node-1"), eq(5L), any(LocalDateTime.class));
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    void testMaintenanceTasksRunOnlyOnLeader() {
+        MaintenanceTask task = mock(MaintenanceTask.class);
+        when(task.getName()).thenReturn("task");
+        when(task.getIntervalMs()).thenReturn(60000L);
+        ObjectProvider<MaintenanceTask> tasks = mock(ObjectProvider.class);
+        when(tasks.orderedStream()).thenReturn(Stream.of(task));
+        MaintenanceScheduler scheduler = new MaintenanceScheduler(leaderElection, tasks);
+
+        scheduler.runDueTasks();
+        verify(task, never()).run(anyLong());
+
+        when(leaseRepository.acquire(eq(LEASE), eq("node-1"), any(), any())).thenReturn(1);
+        leaseHasToken(9);
+        leaderElection.elect();
+        scheduler.runDueTasks();
+        scheduler.runDueTasks();
+
+        verify(task, times(1)).run(9L);
+    }
+}
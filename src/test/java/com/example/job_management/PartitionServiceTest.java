@@ -0,0 +1,110 @@
+package com.example.job_management;
+
+import com.example.job_management.model.JobNode;
+import com.example.job_management.repository.JobNodeRepository;
+import com.example.job_management.service.PartitionRing;
+import com.example.job_management.service.PartitionService;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+public class PartitionServiceTest {
+
+    private static final int PARTITIONS = 64;
+
+    @Test
+    void testRingAssignsEveryPartitionToExactlyOneNode() {
+        PartitionRing ring = new PartitionRing(List.of("a", "b", "c"), 128);
+
+        Set<Integer> all = new HashSet<>();
+        int total = 0;
+        for (String node : List.of("a", "b", "c")) {
+            Set<Integer> owned = ring.partitionsOf(node, PARTITIONS);
+            assertFalse(owned.isEmpty());
+            all.addAll(owned);
+            total += owned.size();
+        }
+
+        assertEquals(PARTITIONS, all.size());
+        assertEquals(PARTITIONS, total);
+    }
+
+    @Test
+    void testRingOnlyMovesPartitionsOfLeavingNode() {
+        PartitionRing before = new PartitionRing(List.of("a", "b", "c"), 128);
+        PartitionRing after = new PartitionRing(List.of("a", "b"), 128);
+
+        for (int partition = 0; partition < PARTITIONS; partition++) {
+            String owner = before.ownerOf(partition);
+            if (!owner.equals("c")) {
+                assertEquals(owner, after.ownerOf(partition));
+            }
+        }
+    }
+
+    @Test
+    void testRingWithoutNodes() {
+        PartitionRing ring = new PartitionRing(List.of(), 128);
+
+        assertNull(ring.ownerOf(0));
+        assertTrue(ring.partitionsOf("a", PARTITIONS).isEmpty());
+    }
+
+    @Test
+    void testInstancesSharingMembershipTableSplitPartitions() {
+        JobNodeRepository nodeRepository = mock(JobNodeRepository.class);
+        when(nodeRepository.heartbeat(anyString(), any(LocalDateTime.class))).thenReturn(1);
+        when(nodeRepository.findLiveNodeIds(any(LocalDateTime.class))).thenReturn(List.of("node-1", "node-2", "node-3"));
+
+        Set<Integer> all = new HashSet<>();
+        int total = 0;
+        for (String nodeId : List.of("node-1", "node-2", "node-3")) {
+            PartitionService service = new PartitionService(nodeRepository, nodeId, PARTITIONS, 128, 15000);
+            service.heartbeat();
+            all.addAll(service.getOwnedPartitions());
+            total += service.getOwnedPartitions().size();
+        }
+
+        assertEquals(PARTITIONS, all.size());
+        assertEquals(PARTITIONS, total);
+    }
+
+    @Test
+    void testHeartbeatRegistersNewNodeAndRebalancesOnLeave() {
+        JobNodeRepository nodeRepository = mock(JobNodeRepository.class);
+        when(nodeRepository.heartbeat(anyString(), any(LocalDateTime.class))).thenReturn(0);
+        when(nodeRepository.findLiveNodeIds(any(LocalDateTime.class))).thenReturn(List.of("node-1", "node-2"));
+        PartitionService service = new PartitionService(nodeRepository, "node-1", PARTITIONS, 128, 15000);
+
+        service.heartbeat();
+        int shared = service.getOwnedPartitions().size();
+
+        when(nodeRepository.heartbeat(anyString(), any(LocalDateTime.class))).thenReturn(1);
+        when(nodeRepository.findLiveNodeIds(any(LocalDateTime.class))).thenReturn(List.of("node-1"));
+        service.heartbeat();
+
+        verify(nodeRepository, times(1)).save(any(JobNode.class));
+        assertTrue(shared < PARTITIONS);
+        assertEquals(PARTITIONS, service.getOwnedPartitions().size());
+        assertEquals(List.of("node-1"), service.getMembers());
+    }
+
+    @Test
+    void testPartitionOf() {
+        PartitionService service = new PartitionService(mock(JobNodeRepository.class), "node-1", PARTITIONS, 128,
+                15000);
+
+        assertEquals(1, service.partitionOf(65L));
+        assertEquals(0, service.partitionOf(128L));
+        assertEquals(3, PartitionService.partitionOf(67L, PARTITIONS));
+    }
+}
@@ -0,0 +1,122 @@
+package com.example.job_management;
+
+import com.example.job_management.service.PendingJobIndex;
+import com.example.job_management.service.PendingJobIndexSnapshot;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PendingJobIndexSnapshotTest {
+
+    @TempDir
+    private Path directory;
+
+    private Path file;
+    private PendingJobIndexSnapshot snapshot;
+    private PendingJobIndex index;
+
+    @BeforeEach
+    void setUp() {
+        file = directory.resolve("snapshots").resolve("index.snapshot");
+        snapshot = new PendingJobIndexSnapshot(file.toString(), 3600000);
+        index = new PendingJobIndex();
+        index.add(10L, "email", 1, PendingJobIndex.UNSCHEDULED);
+        index.add(11L, "email", 7, 5_000L);
+        index.add(12L, "report", 3, PendingJobIndex.UNSCHEDULED);
+        index.add(13L, "report", 2, 9_000L);
+    }
+
+    private Set<Long> ids(PendingJobIndex index) {
+        Set<Long> ids = new HashSet<>();
+        index.forEach((id, type, priority, scheduleMillis) -> ids.add(id));
+        return ids;
+    }
+
+    @Test
+    void testRestoresWhatWasWritten() throws Exception {
+        LocalDateTime takenAt = LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS);
+        LocalDateTime watermark = takenAt.minusSeconds(3);
+        snapshot.write(index, watermark, takenAt, 2, Set.of(0, 1), Set.of("email", "report"));
+
+        PendingJobIndex restored = new PendingJobIndex();
+        PendingJobIndexSnapshot.Restored result = snapshot.restore(restored, 2, Set.of(0, 1),
+                Set.of("email", "report"));
+
+        assertNotNull(result);
+        assertEquals(watermark, result.getWatermark());
+        assertEquals(takenAt, result.getTakenAt());
+        assertEquals(4, result.getJobCount());
+        long[] out = new long[4];
+        assertEquals(3, restored.poll(Set.of("email", "report"), 5_000L, out));
+        assertArrayEquals(new long[] { 11L, 12L, 10L, 0L }, out);
+        assertEquals(Set.of(13L), ids(restored));
+        assertFalse(Files.exists(directory.resolve("snapshots").resolve("index.snapshot.tmp")));
+    }
+
+    @Test
+    void testRestoresOnlyOwnedPartitionsAndTypes() throws Exception {
+        snapshot.write(index, LocalDateTime.now(), LocalDateTime.now(), 2, Set.of(0, 1), Set.of("email", "report"));
+
+        PendingJobIndex restored = new PendingJobIndex();
+        PendingJobIndexSnapshot.Restored result = snapshot.restore(restored, 2, Set.of(0), Set.of("email"));
+
+        assertEquals(1, result.getJobCount());
+        assertEquals(Set.of(10L), ids(restored));
+    }
+
+    @Test
+    void testRestoresThePartitionsItCovers() throws Exception {
+        snapshot.write(index, LocalDateTime.now(), LocalDateTime.now(), 2, Set.of(0), Set.of("email", "report"));
+
+        PendingJobIndex restored = new PendingJobIndex();
+        PendingJobIndexSnapshot.Restored result = snapshot.restore(restored, 2, Set.of(0, 1),
+                Set.of("email", "report"));
+
+        assertEquals(Set.of(0), result.getPartitions());
+        assertEquals(2, result.getJobCount());
+        assertEquals(Set.of(10L, 12L), ids(restored));
+    }
+
+    @Test
+    void testIgnoresSnapshotThatDoesNotCoverPartitionsOrTypes() throws Exception {
+        snapshot.write(index, LocalDateTime.now(), LocalDateTime.now(), 2, Set.of(0), Set.of("email", "report"));
+
+        assertNull(snapshot.restore(new PendingJobIndex(), 2, Set.of(1), Set.of("email")));
+        assertNull(snapshot.restore(new PendingJobIndex(), 2, Set.of(0), Set.of("email", "sms")));
+        assertNull(snapshot.restore(new PendingJobIndex(), 4, Set.of(0), Set.of("email")));
+    }
+
+    @Test
+    void testIgnoresSnapshotOlderThanMaxAge() throws Exception {
+        LocalDateTime takenAt = LocalDateTime.now().minusHours(2);
+        snapshot.write(index, takenAt.minusSeconds(3), takenAt, 2, Set.of(0, 1), Set.of("email", "report"));
+
+        PendingJobIndex restored = new PendingJobIndex();
+        assertNull(snapshot.restore(restored, 2, Set.of(0, 1), Set.of("email", "report")));
+        assertEquals(0, restored.size());
+    }
+
+    @Test
+    void testIgnoresMissingAndTruncatedSnapshots() throws Exception {
+        assertNull(snapshot.restore(new PendingJobIndex(), 2, Set.of(0, 1), Set.of("email")));
+
+        snapshot.write(index, LocalDateTime.now(), LocalDateTime.now(), 2, Set.of(0, 1), Set.of("email", "report"));
+        byte[] bytes = Files.readAllBytes(file);
+        Files.write(file, Arrays.copyOf(bytes, bytes.length - 5));
+
+        PendingJobIndex restored = new PendingJobIndex();
+        assertNull(snapshot.restore(restored, 2, Set.of(0, 1), Set.of("email")));
+        assertEquals(0, restored.size());
+    }
+}
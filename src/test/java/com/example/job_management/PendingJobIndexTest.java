@@ -0,0 +1,113 @@
+package com.example.job_management;
+
+import com.example.job_management.service.PendingJobIndex;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PendingJobIndexTest {
+
+    private long[] poll(PendingJobIndex index, Set<String> types, long now, int limit) {
+        long[] out = new long[limit];
+        return Arrays.copyOf(out, index.poll(types, now, out));
+    }
+
+    @Test
+    void testPollsDueJobsByPriorityThenId() {
+        PendingJobIndex index = new PendingJobIndex(4);
+        index.add(1, "email", 1, PendingJobIndex.UNSCHEDULED);
+        index.add(2, "email", 5, 1000);
+        index.add(3, "email", 5, PendingJobIndex.UNSCHEDULED);
+        index.add(4, "email", 9, 5000);
+        index.add(5, "email", 5, 500);
+
+        assertArrayEquals(new long[] { 2, 3, 5, 1 }, poll(index, Set.of("email"), 1000, 10));
+        assertEquals(1, index.size());
+        assertArrayEquals(new long[] { 4 }, poll(index, Set.of("email"), 5000, 10));
+        assertEquals(0, index.size());
+    }
+
+    @Test
+    void testPollOnlyReturnsRequestedTypes() {
+        PendingJobIndex index = new PendingJobIndex();
+        index.add(1, "email", 1, PendingJobIndex.UNSCHEDULED);
+        index.add(2, "report", 9, PendingJobIndex.UNSCHEDULED);
+        index.add(3, "sms", 5, PendingJobIndex.UNSCHEDULED);
+
+        assertArrayEquals(new long[] { 3, 1 }, poll(index, Set.of("email", "sms", "unknown"), 0, 10));
+        assertArrayEquals(new long[] { 2 }, poll(index, Set.of("report"), 0, 10));
+    }
+
+    @Test
+    void testRemoveAndReplace() {
+        PendingJobIndex index = new PendingJobIndex();
+        index.add(1, "email", 1, PendingJobIndex.UNSCHEDULED);
+        index.add(2, "email", 2, 100);
+        index.add(1, "email", 3, PendingJobIndex.UNSCHEDULED);
+
+        assertEquals(2, index.size());
+        assertTrue(index.remove(2));
+        assertFalse(index.remove(2));
+        assertArrayEquals(new long[] { 1 }, poll(index, Set.of("email"), 1000, 10));
+    }
+
+    @Test
+    void testRemoveIf() {
+        PendingJobIndex index = new PendingJobIndex();
+        for (long id = 1; id <= 6; id++) {
+            index.add(id, "email", 1, id % 3 == 0 ? 100 : PendingJobIndex.UNSCHEDULED);
+        }
+
+        assertEquals(3, index.removeIf(id -> id % 2 == 0));
+        assertEquals(3, index.size());
+        assertArrayEquals(new long[] { 1, 3, 5 }, poll(index, Set.of("email"), 1000, 10));
+    }
+
+    @Test
+    void testMatchesSortedOrderUnderRandomOperations() {
+        Random random = new Random(42);
+        PendingJobIndex index = new PendingJobIndex(8);
+        List<long[]> expected = new ArrayList<>();
+        for (long id = 1; id <= 20000; id++) {
+            int priority = random.nextInt(10);
+            index.add(id, "email", priority, random.nextInt(1000));
+            expected.add(new long[] { id, priority });
+            if (random.nextInt(4) == 0) {
+                long victim = 1 + random.nextInt((int) id);
+                if (index.remove(victim)) {
+                    expected.removeIf(job -> job[0] == victim);
+                }
+            }
+        }
+        expected.sort(Comparator.<long[]>comparingLong(job -> -job[1]).thenComparingLong(job -> job[0]));
+
+        long[] polled = poll(index, Set.of("email"), 1000, expected.size() + 1);
+        assertEquals(expected.size(), polled.length);
+        for (int i = 0; i < polled.length; i++) {
+            assertEquals(expected.get(i)[0], polled[i]);
+        }
+        assertEquals(0, index.size());
+    }
+
+    @Test
+    void testClear() {
+        PendingJobIndex index = new PendingJobIndex();
+        index.add(1, "email", 1, PendingJobIndex.UNSCHEDULED);
+        index.add(2, "email", 1, 10);
+        index.clear();
+
+        assertEquals(0, index.size());
+        assertFalse(index.remove(1));
+        assertEquals(0, poll(index, Set.of("email"), 100, 10).length);
+        index.add(1, "email", 1, PendingJobIndex.UNSCHEDULED);
+        assertArrayEquals(new long[] { 1 }, poll(index, Set.of("email"), 100, 10));
+    }
+}
@@ -0,0 +1,186 @@
+package com.example.job_management;
+
+import com.example.job_management.Common.JobState;
+import com.example.job_management.Common.MisfirePolicy;
+import com.example.job_management.dto.RecurringJobDto;
+import com.example.job_management.model.Job;
+import com.example.job_management.model.RecurringJob;
+import com.example.job_management.repository.JobRepository;
+import com.example.job_management.repository.RecurringJobRepository;
+import com.example.job_management.service.JobStatistics;
+import com.example.job_management.service.RecurringJobService;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class RecurringJobServiceTest {
+
+    private RecurringJobRepository recurringJobRepository;
+    private JobRepository jobRepository;
+    private RecurringJobService recurringJobService;
+
+    @BeforeEach
+    void setUp() {
+        recurringJobRepository = mock(RecurringJobRepository.class);
+        jobRepository = mock(JobRepository.class);
+        PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        when(recurringJobRepository.save(any(RecurringJob.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(recurringJobRepository.advance(anyLong(), any(), any(), any(), anyString(), anyLong())).thenReturn(1);
+        recurringJobService = new RecurringJobService(recurringJobRepository, jobRepository,
+                mock(JobStatistics.class), transactionManager, 1000, 1000, 5000, 1000);
+    }
+
+    private RecurringJob definition(Long fixedRateMs, LocalDateTime nextFireTime, MisfirePolicy misfirePolicy) {
+        RecurringJob recurringJob = new RecurringJob();
+        recurringJob.setId(1L);
+        recurringJob.setType("report");
+        recurringJob.setPriority(2);
+        recurringJob.setFixedRateMs(fixedRateMs);
+        recurringJob.setNextFireTime(nextFireTime);
+        recurringJob.setMisfirePolicy(misfirePolicy);
+        when(recurringJobRepository.findByIdGreaterThanOrderByIdAsc(0L)).thenReturn(List.of(recurringJob));
+        when(recurringJobRepository.findById(1L)).thenReturn(Optional.of(recurringJob));
+        return recurringJob;
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Job> savedJobs() {
+        ArgumentCaptor<List<Job>> captor = ArgumentCaptor.forClass(List.class);
+        verify(jobRepository, atLeastOnce()).saveAll(captor.capture());
+        return captor.getAllValues().stream().flatMap(List::stream).toList();
+    }
+
+    @Test
+    void testValidateRecurringJob() {
+        RecurringJobDto dto = new RecurringJobDto();
+        dto.setType("report");
+        assertEquals("Exactly one of cronExpression and fixedRateMs is required",
+                recurringJobService.validateRecurringJob(dto));
+
+        dto.setCronExpression("not a cron");
+        assertEquals("Invalid cron expression", recurringJobService.validateRecurringJob(dto));
+
+        dto.setCronExpression("0 */5 * * * *");
+        assertNull(recurringJobService.validateRecurringJob(dto));
+
+        dto.setFixedRateMs(1000L);
+        assertEquals("Exactly one of cronExpression and fixedRateMs is required",
+                recurringJobService.validateRecurringJob(dto));
+
+        dto.setCronExpression(null);
+        dto.setFixedRateMs(0L);
+        assertEquals("Invalid fixed rate", recurringJobService.validateRecurringJob(dto));
+
+        dto.setType("");
+        assertEquals("Invalid job type", recurringJobService.validateRecurringJob(dto));
+    }
+
+    @Test
+    void testCreateComputesFirstFireTime() {
+        RecurringJobDto dto = new RecurringJobDto();
+        dto.setType("report");
+        dto.setCronExpression("0 0 * * * *");
+        dto.setStartTime(LocalDateTime.of(2030, 1, 1, 10, 0, 0));
+
+        RecurringJob cron = recurringJobService.createRecurringJob(dto);
+
+        assertEquals(LocalDateTime.of(2030, 1, 1, 10, 0, 0), cron.getNextFireTime());
+        assertEquals(MisfirePolicy.FIRE_ONCE, cron.getMisfirePolicy());
+
+        dto.setCronExpression(null);
+        dto.setFixedRateMs(60000L);
+        dto.setStartTime(null);
+        LocalDateTime before = LocalDateTime.now();
+
+        RecurringJob fixedRate = recurringJobService.createRecurringJob(dto);
+
+        assertFalse(fixedRate.getNextFireTime().isBefore(before.plusMinutes(1)));
+    }
+
+    @Test
+    void testDueDefinitionMaterializesJob() {
+        LocalDateTime due = LocalDateTime.now().minusSeconds(1);
+        definition(60000L, due, MisfirePolicy.SKIP);
+
+        recurringJobService.run(1);
+
+        List<Job> jobs = savedJobs();
+        assertEquals(1, jobs.size());
+        assertEquals("report", jobs.get(0).getType());
+        assertEquals(JobState.QUEUED, jobs.get(0).getState());
+        assertEquals(2, jobs.get(0).getPriority());
+        assertEquals(due, jobs.get(0).getScheduledTime());
+        verify(recurringJobRepository).advance(1L, due, due.plusMinutes(1), due, "maintenance", 1L);
+    }
+
+    @Test
+    void testDefinitionNotDueIsNotTouched() {
+        definition(60000L, LocalDateTime.now().plusMinutes(5), MisfirePolicy.SKIP);
+
+        recurringJobService.run(1);
+        recurringJobService.run(1);
+
+        verify(recurringJobRepository, never()).findById(anyLong());
+        verify(jobRepository, never()).saveAll(anyList());
+    }
+
+    @Test
+    void testMisfireSkip() {
+        LocalDateTime due = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS).minusMinutes(10).plusSeconds(30);
+        definition(60000L, due, MisfirePolicy.SKIP);
+
+        recurringJobService.run(1);
+
+        verify(jobRepository, never()).saveAll(anyList());
+        verify(recurringJobRepository).advance(eq(1L), eq(due), eq(due.plusMinutes(10)), isNull(), anyString(),
+                eq(1L));
+    }
+
+    @Test
+    void testMisfireFireOnce() {
+        LocalDateTime due = LocalDateTime.now().minusMinutes(10).plusSeconds(30);
+        definition(60000L, due, MisfirePolicy.FIRE_ONCE);
+
+        recurringJobService.run(1);
+
+        assertEquals(1, savedJobs().size());
+        verify(recurringJobRepository).advance(eq(1L), eq(due), eq(due.plusMinutes(10)), any(), anyString(),
+                eq(1L));
+    }
+
+    @Test
+    void testMisfireCatchUp() {
+        LocalDateTime due = LocalDateTime.now().minusMinutes(10).plusSeconds(30);
+        definition(60000L, due, MisfirePolicy.CATCH_UP);
+
+        recurringJobService.run(1);
+
+        List<Job> jobs = savedJobs();
+        assertEquals(10, jobs.size());
+        assertEquals(due, jobs.get(0).getScheduledTime());
+        assertEquals(due.plusMinutes(9), jobs.get(9).getScheduledTime());
+    }
+
+    @Test
+    void testLostLeaseDoesNotMaterialize() {
+        definition(60000L, LocalDateTime.now().minusSeconds(1), MisfirePolicy.SKIP);
+        when(recurringJobRepository.advance(anyLong(), any(), any(), any(), anyString(), anyLong())).thenReturn(0);
+
+        recurringJobService.run(1);
+
+        verify(jobRepository, never()).saveAll(anyList());
+    }
+}
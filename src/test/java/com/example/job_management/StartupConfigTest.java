@@ -0,0 +1,38 @@
+package com.example.job_management;
+
+import com.example.job_management.config.StartupConfig;
+import com.example.job_management.controller.JobController;
+import com.example.job_management.service.JobDispatcher;
+import com.example.job_management.service.JobLifecycleManager;
+import com.example.job_management.service.JobService;
+import com.example.job_management.service.PartitionService;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.RootBeanDefinition;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class StartupConfigTest {
+
+    private final LazyInitializationExcludeFilter filter =
+            ReflectionTestUtils.invokeMethod(StartupConfig.class, "eagerJobInfrastructure");
+
+    private boolean isEager(Class<?> beanType) {
+        return filter.isExcluded("bean", new RootBeanDefinition(beanType), beanType);
+    }
+
+    @Test
+    void testScheduledAndLifecycleBeansStayEager() {
+        assertTrue(isEager(JobDispatcher.class));
+        assertTrue(isEager(PartitionService.class));
+        assertTrue(isEager(JobLifecycleManager.class));
+    }
+
+    @Test
+    void testOtherBeansAreLazy() {
+        assertFalse(isEager(JobController.class));
+        assertFalse(isEager(JobService.class));
+    }
+}
@@ -0,0 +1,137 @@
+package com.example.job_management;
+
+import com.example.job_management.Common.JobState;
+import com.example.job_management.repository.JobRepository;
+import com.example.job_management.service.JobStatistics;
+import com.example.job_management.service.TransitionBuffer;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class TransitionBufferTest {
+
+    private JobRepository jobRepository;
+    private PlatformTransactionManager transactionManager;
+    private JobStatistics jobStatistics;
+    private TransitionBuffer buffer;
+
+    @BeforeEach
+    void setUp() {
+        jobRepository = mock(JobRepository.class);
+        transactionManager = mock(PlatformTransactionManager.class);
+        jobStatistics = mock(JobStatistics.class);
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (buffer != null) {
+            buffer.shutdown();
+        }
+    }
+
+    @Test
+    void testFlushCoalescesTransitionsIntoOneTransaction() {
+        buffer = new TransitionBuffer(jobRepository, transactionManager, jobStatistics, true, 500, 100, 60000, 100);
+
+        buffer.submit(1L, "email", JobState.RUNNING, JobState.SUCCESS);
+        buffer.submit(2L, "email", JobState.RUNNING, JobState.SUCCESS);
+        buffer.submit(3L, "email", JobState.RUNNING, JobState.FAILED);
+        verify(jobRepository, never()).transitionAll(anyCollection(), any(), any());
+
+        buffer.flush();
+
+        verify(jobRepository, times(1)).transitionAll(List.of(1L, 2L), JobState.RUNNING, JobState.SUCCESS);
+        verify(jobRepository, times(1)).transitionAll(List.of(3L), JobState.RUNNING, JobState.FAILED);
+        verify(transactionManager, times(1)).commit(any());
+        assertEquals(0, buffer.getPendingCount());
+    }
+
+    @Test
+    void testAppliedTransitionsUpdateStatistics() {
+        buffer = new TransitionBuffer(jobRepository, transactionManager, jobStatistics, true, 500, 100, 60000, 100);
+        when(jobRepository.transitionAll(List.of(1L, 2L), JobState.RUNNING, JobState.SUCCESS)).thenReturn(2);
+
+        buffer.submit(1L, "email", JobState.RUNNING, JobState.SUCCESS);
+        buffer.submit(2L, "email", JobState.RUNNING, JobState.SUCCESS);
+        buffer.flush();
+
+        verify(jobStatistics, times(2)).onTransition("email", JobState.RUNNING, JobState.SUCCESS);
+        verify(jobStatistics, never()).markStale();
+    }
+
+    @Test
+    void testPartiallyAppliedBatchMarksStatisticsStale() {
+        buffer = new TransitionBuffer(jobRepository, transactionManager, jobStatistics, true, 500, 100, 60000, 100);
+        when(jobRepository.transitionAll(List.of(1L, 2L), JobState.RUNNING, JobState.SUCCESS)).thenReturn(1);
+
+        buffer.submit(1L, "email", JobState.RUNNING, JobState.SUCCESS);
+        buffer.submit(2L, "email", JobState.RUNNING, JobState.SUCCESS);
+        buffer.flush();
+
+        verify(jobStatistics, never()).onTransition(any(), any(), any());
+        verify(jobStatistics, times(1)).markStale();
+    }
+
+    @Test
+    void testFullBatchIsFlushedWithoutWaitingForInterval() {
+        buffer = new TransitionBuffer(jobRepository, transactionManager, jobStatistics, true, 2, 100, 60000, 100);
+
+        buffer.submit(1L, "email", JobState.RUNNING, JobState.SUCCESS);
+        buffer.submit(2L, "email", JobState.RUNNING, JobState.SUCCESS);
+
+        verify(jobRepository, timeout(1000)).transitionAll(List.of(1L, 2L), JobState.RUNNING, JobState.SUCCESS);
+    }
+
+    @Test
+    void testPeriodicFlush() {
+        buffer = new TransitionBuffer(jobRepository, transactionManager, jobStatistics, true, 500, 100, 5, 100);
+
+        buffer.submit(1L, "email", JobState.RUNNING, JobState.SUCCESS);
+
+        verify(jobRepository, timeout(1000)).transitionAll(List.of(1L), JobState.RUNNING, JobState.SUCCESS);
+    }
+
+    @Test
+    void testFullBufferFallsBackToSynchronousWrite() {
+        buffer = new TransitionBuffer(jobRepository, transactionManager, jobStatistics, true, 500, 1, 60000, 1);
+
+        buffer.submit(1L, "email", JobState.RUNNING, JobState.SUCCESS);
+        buffer.submit(2L, "email", JobState.RUNNING, JobState.FAILED);
+
+        verify(jobRepository, times(1)).transitionAll(List.of(2L), JobState.RUNNING, JobState.FAILED);
+        assertEquals(1, buffer.getPendingCount());
+    }
+
+    @Test
+    void testSynchronousMode() {
+        buffer = new TransitionBuffer(jobRepository, transactionManager, jobStatistics, false, 500, 100, 5, 100);
+
+        buffer.submit(1L, "email", JobState.RUNNING, JobState.SUCCESS);
+
+        verify(jobRepository, times(1)).transitionAll(List.of(1L), JobState.RUNNING, JobState.SUCCESS);
+        assertEquals(0, buffer.getPendingCount());
+    }
+
+    @Test
+    void testFailedBatchIsRetriedOneByOne() {
+        buffer = new TransitionBuffer(jobRepository, transactionManager, jobStatistics, true, 500, 100, 60000, 100);
+        when(jobRepository.transitionAll(anyCollection(), any(), any())).thenThrow(new IllegalStateException("db"));
+
+        buffer.submit(1L, "email", JobState.RUNNING, JobState.SUCCESS);
+        buffer.submit(2L, "email", JobState.RUNNING, JobState.SUCCESS);
+        buffer.flush();
+
+        verify(jobRepository, times(1)).transition(1L, JobState.RUNNING, JobState.SUCCESS);
+        verify(jobRepository, times(1)).transition(2L, JobState.RUNNING, JobState.SUCCESS);
+    }
+}